@@ -0,0 +1,81 @@
+package com.hahn.projectmanager.dto.page;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.projectmanager.dto.project.ProjectResponse;
+import com.hahn.projectmanager.dto.task.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of the two list envelopes: the project PaginatedResponse record and
+ * the Spring Data Page returned by the task listing, in every negotiable format.
+ * The payload sizes are printed once per fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private PaginatedResponse<ProjectResponse> projects;
+    private Page<TaskResponse> tasks;
+    private byte[] encodedTasks;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same modules and defaults as the application's mappers
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+
+        List<ProjectResponse> projectItems = new ArrayList<>();
+        List<TaskResponse> taskItems = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            projectItems.add(new ProjectResponse((long) i, "Project " + i, "Description of project " + i, 40, 13, 32));
+            taskItems.add(new TaskResponse((long) i, "Task " + i, "Description of task " + i,
+                    LocalDate.of(2026, 1, 1).plusDays(i), i % 3 == 0));
+        }
+
+        projects = new PaginatedResponse<>(projectItems, 0, pageSize, 10_000, 10_000 / pageSize);
+        tasks = new PageImpl<>(taskItems, PageRequest.of(0, pageSize), 10_000);
+        encodedTasks = objectMapper.writeValueAsBytes(tasks);
+
+        System.out.printf("%n%s, %d items: PaginatedResponse %d bytes, Page %d bytes%n",
+                format, pageSize, objectMapper.writeValueAsBytes(projects).length, encodedTasks.length);
+    }
+
+    @Benchmark
+    public byte[] paginatedResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+
+    @Benchmark
+    public byte[] page() throws Exception {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    /** What a consumer pays to parse the task page, without binding to its own types. */
+    @Benchmark
+    public Object parsePage() throws Exception {
+        return objectMapper.readTree(encodedTasks);
+    }
+}
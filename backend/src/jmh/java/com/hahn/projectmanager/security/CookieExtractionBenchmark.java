@@ -0,0 +1,42 @@
+package com.hahn.projectmanager.security;
+
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access-token lookup in the request cookies, as done by the filter on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CookieExtractionBenchmark {
+
+    /** Cookies sent alongside the access token (analytics, locale, refresh token, ...). */
+    @Param({"0", "5"})
+    public int otherCookies;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        Cookie[] cookies = new Cookie[otherCookies + 1];
+        for (int i = 0; i < otherCookies; i++) {
+            cookies[i] = new Cookie("cookie_" + i, "value-" + i);
+        }
+        cookies[otherCookies] = new Cookie("access_token", "header.payload.signature");
+
+        request = new MockHttpServletRequest();
+        request.setCookies(cookies);
+    }
+
+    @Benchmark
+    public String extractAccessToken() {
+        return JwtAuthenticationFilter.extractAccessToken(request);
+    }
+}
@@ -0,0 +1,61 @@
+package com.hahn.projectmanager.security;
+
+import com.hahn.projectmanager.entity.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost, with and without the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private JwtService uncached;
+    private JwtService cached;
+    private User user;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtService(SECRET, 900_000, 604_800_000, true, 0);
+        cached = new JwtService(SECRET, 900_000, 604_800_000, true, 10_000);
+
+        user = User.builder().id(42L).name("Bench User").email("bench@mail.com").build();
+        token = uncached.generateAccessToken(user);
+        claims = uncached.verify(token).orElseThrow();
+
+        // Prime the cache so the cached benchmark measures hits
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return uncached.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public JwtUserPrincipal extractPrincipal() {
+        return uncached.extractPrincipal(claims);
+    }
+}
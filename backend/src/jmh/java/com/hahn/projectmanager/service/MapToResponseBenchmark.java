@@ -0,0 +1,57 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.dto.project.ProjectResponse;
+import com.hahn.projectmanager.dto.task.TaskResponse;
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.entity.Task;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done for every item of every list response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapToResponseBenchmark {
+
+    private ProjectService projectService;
+    private TaskService taskService;
+    private Project project;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        // Mapping touches no repository
+        projectService = new ProjectService(null, null, null);
+        taskService = new TaskService(null, null, null, null);
+
+        project = Project.builder().id(1L).title("Website redesign").description("Q3 launch").build();
+        ReflectionTestUtils.setField(project, "totalTasks", 40);
+        ReflectionTestUtils.setField(project, "completedTasks", 13);
+
+        task = Task.builder()
+                .id(7L)
+                .title("Write copy")
+                .description("Landing page copy")
+                .dueDate(LocalDate.of(2026, 1, 31))
+                .project(project)
+                .build();
+    }
+
+    @Benchmark
+    public ProjectResponse projectMapToResponse() {
+        return projectService.mapToResponse(project);
+    }
+
+    @Benchmark
+    public TaskResponse taskMapToResponse() {
+        return taskService.mapToResponse(task);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hahn.projectmanager.loadtest;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * ProjectController and TaskController calls driven by the load test.
+ * Each builds a request for a random project/task of the logged-in user.
+ */
+enum Endpoint {
+
+    LIST_PROJECTS("GET /api/projects", (s, r) ->
+            Request.get("/api/projects?page=0&size=20")),
+    GET_PROJECT("GET /api/projects/{id}", (s, r) ->
+            Request.get("/api/projects/" + s.randomProject(r))),
+    PROJECT_PROGRESS("GET /api/projects/{id}/progress", (s, r) ->
+            Request.get("/api/projects/" + s.randomProject(r) + "/progress")),
+    LIST_TASKS("GET /api/projects/{projectId}/tasks", (s, r) ->
+            Request.get("/api/projects/" + s.randomProject(r) + "/tasks?page=0&size=20")),
+    CURSOR_TASKS("GET /api/projects/{projectId}/tasks?cursor", (s, r) ->
+            Request.get("/api/projects/" + s.randomProject(r) + "/tasks?cursor=&size=20")),
+    SEARCH_TASKS("GET /api/projects/{projectId}/tasks?search", (s, r) ->
+            Request.get("/api/projects/" + s.randomProject(r)
+                    + "/tasks?search=task+" + r.nextInt(10) + "&searchMode=FULLTEXT")),
+    GET_TASK("GET /api/projects/{projectId}/tasks/{taskId}", (s, r) -> {
+        long projectId = s.randomProject(r);
+        return Request.get("/api/projects/" + projectId + "/tasks/" + s.randomTask(projectId, r));
+    }),
+    CREATE_TASK("POST /api/projects/{projectId}/tasks", (s, r) ->
+            Request.withBody("POST", "/api/projects/" + s.randomProject(r) + "/tasks", taskJson(r))),
+    UPDATE_TASK("PUT /api/projects/{projectId}/tasks/{taskId}", (s, r) -> {
+        long projectId = s.randomProject(r);
+        return Request.withBody("PUT",
+                "/api/projects/" + projectId + "/tasks/" + s.randomTask(projectId, r), taskJson(r));
+    }),
+    TOGGLE_TASK("PATCH /api/projects/{projectId}/tasks/{taskId}/completion", (s, r) -> {
+        long projectId = s.randomProject(r);
+        return Request.withBody("PATCH", "/api/projects/" + projectId + "/tasks/"
+                + s.randomTask(projectId, r) + "/completion?completed=" + r.nextBoolean(), null);
+    });
+
+    final String route;
+    private final BiFunction<Session, Random, Request> factory;
+
+    Endpoint(String route, BiFunction<Session, Random, Request> factory) {
+        this.route = route;
+        this.factory = factory;
+    }
+
+    Request request(Session session, Random random) {
+        return factory.apply(session, random);
+    }
+
+    private static String taskJson(Random random) {
+        int n = random.nextInt(1_000_000);
+        return "{\"title\":\"Load task " + n + "\",\"description\":\"Created by the load test\","
+                + "\"dueDate\":\"" + LocalDate.now().plusDays(random.nextInt(60)) + "\"}";
+    }
+
+    record Request(String method, String path, String jsonBody) {
+
+        static Request get(String path) {
+            return new Request("GET", path, null);
+        }
+
+        static Request withBody(String method, String path, String jsonBody) {
+            return new Request(method, path, jsonBody);
+        }
+    }
+}
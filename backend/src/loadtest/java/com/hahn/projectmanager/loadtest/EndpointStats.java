@@ -0,0 +1,52 @@
+package com.hahn.projectmanager.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error count of one endpoint.
+ * Latency is measured from the request's scheduled start, so queueing delay
+ * in the client is counted too (no coordinated omission).
+ */
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, boolean success) {
+        latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    Map<String, Object> toReport(double measuredSeconds) {
+        long count = latencyMicros.getTotalCount();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", count);
+        report.put("errors", errors.sum());
+        report.put("throughputPerSecond", round(count / measuredSeconds));
+        report.put("p50Ms", millis(latencyMicros.getValueAtPercentile(50)));
+        report.put("p95Ms", millis(latencyMicros.getValueAtPercentile(95)));
+        report.put("p99Ms", millis(latencyMicros.getValueAtPercentile(99)));
+        report.put("maxMs", millis(latencyMicros.getMaxValue()));
+        return report;
+    }
+
+    // Helper methods
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,29 @@
+package com.hahn.projectmanager.loadtest;
+
+/**
+ * Load-test knobs, read from -Dloadtest.* system properties (see the loadtest profile in pom.xml).
+ */
+record LoadTestConfig(
+        int users,
+        int projectsPerUser,
+        int tasksPerProject,
+        double ratePerSecond,
+        int warmupSeconds,
+        int durationSeconds,
+        TrafficMix mix,
+        String reportPath
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 50),
+                Integer.getInteger("loadtest.projects-per-user", 20),
+                Integer.getInteger("loadtest.tasks-per-project", 50),
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 60),
+                TrafficMix.valueOf(System.getProperty("loadtest.mix", "BROWSE").toUpperCase()),
+                System.getProperty("loadtest.report", "target/loadtest-report.json")
+        );
+    }
+}
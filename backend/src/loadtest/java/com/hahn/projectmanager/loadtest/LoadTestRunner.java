@@ -0,0 +1,301 @@
+package com.hahn.projectmanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hahn.projectmanager.BackendApplication;
+import com.hahn.projectmanager.service.TaskCounterReconciler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: starts the application against a seeded Testcontainers
+ * PostgreSQL, logs every seeded user in through /api/auth/login and drives an
+ * open-model (Poisson arrivals at a fixed rate) mix of project and task requests.
+ * Writes per-endpoint p50/p95/p99 latency and throughput as JSON.
+ *
+ * Run with: mvn -Ploadtest -DskipTests verify -Dloadtest.rate=500
+ */
+public final class LoadTestRunner {
+
+    static final String PASSWORD = "load-test-password";
+    private static final int SAMPLED_TASKS_PER_PROJECT = 20;
+
+    private final LoadTestConfig config;
+    private final HttpClient http;
+    private String baseUrl;
+
+    private LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")) {
+            postgres.start();
+
+            SpringApplication app = new SpringApplication(BackendApplication.class);
+            app.setDefaultProperties(applicationProperties(postgres));
+
+            try (ConfigurableApplicationContext context = app.run(args)) {
+                new LoadTestRunner(config).run(context);
+            }
+        }
+        // The HTTP client and Testcontainers leave non-daemon threads behind
+        System.exit(0);
+    }
+
+    private void run(ConfigurableApplicationContext context) throws Exception {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        seed(jdbc, context.getBean(PasswordEncoder.class));
+        context.getBean(TaskCounterReconciler.class).reconcile();
+        jdbc.execute("VACUUM ANALYZE");
+
+        EndpointStats loginStats = new EndpointStats();
+        long loginStart = System.nanoTime();
+        List<Session> sessions = login(jdbc, loginStats);
+        double loginSeconds = (System.nanoTime() - loginStart) / 1e9;
+
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        EndpointStats total = new EndpointStats();
+
+        drive(sessions, stats, total);
+
+        writeReport(loginStats, loginSeconds, stats, total);
+    }
+
+    // Helper methods
+    private void seed(JdbcTemplate jdbc, PasswordEncoder passwordEncoder) {
+        // Every seeded user shares one hash: BCrypt is deliberately slow
+        jdbc.update("""
+                INSERT INTO users (name, email, password)
+                SELECT 'Load User ' || g, 'load' || g || '@example.com', ?
+                FROM generate_series(1, ?) g
+                """, passwordEncoder.encode(PASSWORD), config.users());
+
+        jdbc.update("""
+                INSERT INTO projects (title, description, user_id)
+                SELECT 'Project ' || g, 'Seeded by the load test', u.id
+                FROM users u CROSS JOIN generate_series(1, ?) g
+                """, config.projectsPerUser());
+
+        jdbc.update("""
+                INSERT INTO tasks (title, description, due_date, completed, project_id)
+                SELECT 'Task ' || g, 'Seeded task details ' || g, CURRENT_DATE + (g % 90), g % 3 = 0, p.id
+                FROM projects p CROSS JOIN generate_series(1, ?) g
+                """, config.tasksPerProject());
+    }
+
+    private List<Session> login(JdbcTemplate jdbc, EndpointStats loginStats) throws Exception {
+        Map<Long, List<Long>> projectsByUser = new HashMap<>();
+        jdbc.query("SELECT user_id, id FROM projects ORDER BY id", rs -> {
+            projectsByUser.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getLong(2));
+        });
+
+        Map<Long, List<Long>> tasksByProject = new HashMap<>();
+        jdbc.query("""
+                SELECT project_id, id FROM (
+                    SELECT project_id, id, row_number() OVER (PARTITION BY project_id ORDER BY id) AS rn
+                    FROM tasks
+                ) t WHERE rn <= ?
+                """, rs -> {
+            tasksByProject.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getLong(2));
+        }, SAMPLED_TASKS_PER_PROJECT);
+
+        List<Session> sessions = new ArrayList<>();
+        List<Map.Entry<Long, String>> users = jdbc.query("SELECT id, email FROM users ORDER BY id",
+                (rs, n) -> Map.entry(rs.getLong(1), rs.getString(2)));
+
+        for (Map.Entry<Long, String> user : users) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + user.getValue() + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+
+            long start = System.nanoTime();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            loginStats.record(System.nanoTime() - start, response.statusCode() == 200);
+
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + user.getValue() + ": " + response.statusCode());
+            }
+
+            List<Long> projectIds = projectsByUser.getOrDefault(user.getKey(), List.of());
+            if (projectIds.isEmpty()) {
+                continue;
+            }
+
+            Map<Long, long[]> taskIds = new HashMap<>();
+            for (Long projectId : projectIds) {
+                taskIds.put(projectId, toArray(tasksByProject.getOrDefault(projectId, List.of())));
+            }
+            sessions.add(new Session(cookieHeader(response), toArray(projectIds), taskIds));
+        }
+
+        if (sessions.isEmpty() || config.tasksPerProject() == 0) {
+            throw new IllegalStateException("Seed at least one user with projects and tasks");
+        }
+        return sessions;
+    }
+
+    /**
+     * Open model: arrivals follow a Poisson process at the configured rate and never
+     * wait for earlier responses. Only requests scheduled after the warmup are recorded.
+     */
+    private void drive(List<Session> sessions, Map<Endpoint, EndpointStats> stats, EndpointStats total)
+            throws InterruptedException {
+        double meanIntervalNanos = 1e9 / config.ratePerSecond();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        Random arrivals = new Random(42);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = start;
+            while (true) {
+                next += (long) (-Math.log(1 - arrivals.nextDouble()) * meanIntervalNanos);
+                if (next >= end) {
+                    break;
+                }
+
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                long scheduledAt = next;
+                boolean measured = scheduledAt >= measureFrom;
+                executor.submit(() -> {
+                    Random random = ThreadLocalRandom.current();
+                    Session session = sessions.get(random.nextInt(sessions.size()));
+                    Endpoint endpoint = config.mix().pick(random);
+                    boolean success = send(session, endpoint.request(session, random));
+
+                    if (measured) {
+                        long latency = System.nanoTime() - scheduledAt;
+                        stats.get(endpoint).record(latency, success);
+                        total.record(latency, success);
+                    }
+                });
+            }
+        }
+    }
+
+    private boolean send(Session session, Endpoint.Request request) {
+        HttpRequest.BodyPublisher body = request.jsonBody() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(request.jsonBody());
+
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+                .timeout(Duration.ofSeconds(30))
+                .header("Cookie", session.cookieHeader())
+                .header("Content-Type", "application/json")
+                .method(request.method(), body)
+                .build();
+
+        try {
+            int status = http.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private void writeReport(
+            EndpointStats loginStats,
+            double loginSeconds,
+            Map<Endpoint, EndpointStats> stats,
+            EndpointStats total
+    ) throws Exception {
+        double measuredSeconds = config.durationSeconds();
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints.put(endpoint.route, stats.get(endpoint).toReport(measuredSeconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("login", loginStats.toReport(loginSeconds));
+        report.put("endpoints", endpoints);
+        report.put("total", total.toReport(measuredSeconds));
+
+        File file = new File(config.reportPath());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file, report);
+
+        System.out.println("Load test report written to " + file.getAbsolutePath());
+    }
+
+    private static Map<String, Object> applicationProperties(PostgreSQLContainer<?> postgres) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", postgres.getJdbcUrl());
+        properties.put("spring.datasource.username", postgres.getUsername());
+        properties.put("spring.datasource.password", postgres.getPassword());
+        properties.put("server.port", 0);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("jwt.secret", "load-test-secret-key-that-is-long-enough-for-hs256");
+        // Long-lived access tokens: the run never has to refresh
+        properties.put("jwt.access.expiration", TimeUnit.HOURS.toMillis(4));
+        properties.put("jwt.refresh.expiration", TimeUnit.DAYS.toMillis(1));
+        properties.put("app.cors.allowed-origins", "http://localhost");
+        properties.put("app.cors.allowed-methods", "GET,POST,PUT,PATCH,DELETE,OPTIONS");
+        properties.put("app.cors.allowed-headers", "Content-Type");
+        properties.put("app.cors.allow-credentials", true);
+        return properties;
+    }
+
+    private static String cookieHeader(HttpResponse<?> response) {
+        StringBuilder cookies = new StringBuilder();
+        for (String setCookie : response.headers().allValues("Set-Cookie")) {
+            if (!cookies.isEmpty()) {
+                cookies.append("; ");
+            }
+            cookies.append(setCookie, 0, setCookie.indexOf(';') < 0 ? setCookie.length() : setCookie.indexOf(';'));
+        }
+        return cookies.toString();
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,19 @@
+package com.hahn.projectmanager.loadtest;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A logged-in seeded user: its auth cookies and a sample of its project and task ids.
+ */
+record Session(String cookieHeader, long[] projectIds, Map<Long, long[]> taskIdsByProject) {
+
+    long randomProject(Random random) {
+        return projectIds[random.nextInt(projectIds.length)];
+    }
+
+    long randomTask(long projectId, Random random) {
+        long[] taskIds = taskIdsByProject.get(projectId);
+        return taskIds[random.nextInt(taskIds.length)];
+    }
+}
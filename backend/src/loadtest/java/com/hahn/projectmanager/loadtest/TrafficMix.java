@@ -0,0 +1,39 @@
+package com.hahn.projectmanager.loadtest;
+
+import java.util.Random;
+
+/**
+ * Weighted endpoint mixes, in {@link Endpoint} declaration order (weights sum to 100).
+ */
+enum TrafficMix {
+
+    /** Mostly reading: dashboards, task lists and search. */
+    BROWSE(20, 10, 10, 25, 5, 10, 10, 4, 3, 3),
+
+    /** Active planning session: a third of the traffic writes. */
+    EDIT(10, 5, 5, 15, 5, 5, 10, 15, 15, 15);
+
+    private final int[] cumulative;
+
+    TrafficMix(int... weights) {
+        if (weights.length != Endpoint.values().length) {
+            throw new IllegalArgumentException("One weight per endpoint expected");
+        }
+        cumulative = new int[weights.length];
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+    }
+
+    Endpoint pick(Random random) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return Endpoint.values()[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+}
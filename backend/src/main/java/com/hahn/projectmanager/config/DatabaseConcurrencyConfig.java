@@ -0,0 +1,62 @@
+package com.hahn.projectmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Puts a {@link ConnectionLimitingDataSource} in front of the Hikari pool.
+ * On by default with virtual threads (spring.threads.virtual.enabled), where the
+ * number of concurrent requests is no longer bounded by the Tomcat thread pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db-limiter.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    @Bean
+    static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        Duration acquireTimeout = environment.getProperty(
+                "app.db-limiter.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    // One permit per pooled connection: waiting happens here, not in the pool
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(), acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionLimitingDataSource limiter;
+            try {
+                limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+            } catch (SQLException ex) {
+                return;
+            }
+
+            Gauge.builder("db.limiter.active", limiter, ConnectionLimitingDataSource::getActive)
+                    .description("Connections currently checked out through the limiter")
+                    .register(registry);
+            Gauge.builder("db.limiter.waiting", limiter, ConnectionLimitingDataSource::getWaiting)
+                    .description("Callers waiting for a database permit")
+                    .register(registry);
+            Gauge.builder("db.limiter.max", limiter, ConnectionLimitingDataSource::getMaxConcurrent)
+                    .register(registry);
+        };
+    }
+}
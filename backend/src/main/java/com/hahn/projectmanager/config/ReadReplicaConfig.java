@@ -0,0 +1,130 @@
+package com.hahn.projectmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the read replicas in app.read-replicas.urls
+ * and everything else to the primary (spring.datasource.*, pooled as usual).
+ * A read-only transaction marks its connection read-only before the first
+ * statement, and {@link LazyConnectionDataSourceProxy} only then picks the pool.
+ * Work outside a transaction stays on the primary, and so do read-write
+ * transactions: reads that must not be stale (token versions, logins) use one.
+ * <p>
+ * A replica can be up to max-lag behind, longer than the read-your-writes
+ * window, so sessions that got a replica connection only read the
+ * second-level cache: a row they load may predate the latest commit and
+ * would otherwise stay cached for the region's TTL, for every reader.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    DataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // As Boot's own pool configuration would
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        return primary;
+    }
+
+    @Bean
+    ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.read-replicas.read-your-writes-window:PT5S}") Duration window
+    ) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    @Bean
+    ReadReplicaDataSource readReplicaDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            ReadYourWritesTracker readYourWrites,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.read-replicas.urls}") List<String> urls,
+            @Value("${app.read-replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.read-replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.read-replicas.pool-size:10}") int poolSize,
+            @Value("${app.read-replicas.connection-timeout:PT2S}") Duration connectionTimeout,
+            @Value("${app.read-replicas.health-check-timeout:PT2S}") Duration healthCheckTimeout,
+            @Value("${app.read-replicas.max-lag:PT30S}") Duration maxLag,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            // Short, so an unreachable replica falls back to the primary quickly
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        return new ReadReplicaDataSource(primary, replicas, readYourWrites, healthCheckTimeout, maxLag,
+                () -> stopCachePuts(entityManagerFactory.getObject()));
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReadReplicaDataSource replicas) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replicas);
+        return routing;
+    }
+
+    @Bean
+    MeterBinder readReplicaMetrics(ReadReplicaDataSource replicas) {
+        return registry -> {
+            Gauge.builder("db.replicas.healthy", replicas, ReadReplicaDataSource::getHealthyCount)
+                    .description("Read replicas currently in rotation")
+                    .register(registry);
+            Gauge.builder("db.replicas.configured", replicas, ReadReplicaDataSource::getReplicaCount)
+                    .register(registry);
+            FunctionCounter.builder("db.replicas.fallbacks", replicas, ReadReplicaDataSource::getFallbacks)
+                    .description("Read-only connections served by the primary because no replica was usable")
+                    .register(registry);
+            FunctionCounter.builder("db.replicas.pinned.reads", replicas, ReadReplicaDataSource::getPinnedReads)
+                    .description("Read-only connections kept on the primary by the read-your-writes window")
+                    .register(registry);
+        };
+    }
+
+    // Helper methods
+    private static void stopCachePuts(EntityManagerFactory entityManagerFactory) {
+        // The connection is acquired for the session of the current transaction
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.hahn.projectmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-only side of the routing: hands out replica connections round-robin,
+ * skipping replicas that failed, and falls back to the primary when none is
+ * usable or the current user has just written something.
+ * A replica whose connection fails is taken out at once; the periodic health
+ * check (connectivity and replication lag) decides when it comes back.
+ */
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    // Seconds behind the primary; 0 when the replica has replayed everything
+    // it received, so an idle primary doesn't count as lag
+    private static final String REPLICATION_LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesTracker readYourWrites;
+    private final int healthCheckTimeoutSeconds;
+    private final double maxLagSeconds;
+    private final Runnable onReplicaConnection;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder pinnedReads = new LongAdder();
+
+    public ReadReplicaDataSource(
+            DataSource primary,
+            Map<String, DataSource> replicas,
+            ReadYourWritesTracker readYourWrites,
+            Duration healthCheckTimeout,
+            Duration maxLag
+    ) {
+        this(primary, replicas, readYourWrites, healthCheckTimeout, maxLag, () -> {});
+    }
+
+    /**
+     * @param onReplicaConnection runs on the requesting thread whenever a replica connection is handed out
+     */
+    public ReadReplicaDataSource(
+            DataSource primary,
+            Map<String, DataSource> replicas,
+            ReadYourWritesTracker readYourWrites,
+            Duration healthCheckTimeout,
+            Duration maxLag,
+            Runnable onReplicaConnection
+    ) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.readYourWrites = readYourWrites;
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.onReplicaConnection = onReplicaConnection;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWrites.currentUserRecentlyWrote()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                onReplicaConnection.run();
+                return connection;
+            } catch (SQLException ex) {
+                markDown(replica, ex.getMessage());
+            }
+        }
+
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    /**
+     * Probes every replica, and forgets read-your-writes entries that expired.
+     */
+    @Scheduled(fixedDelayString = "${app.read-replicas.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+
+            if (problem != null) {
+                markDown(replica, problem);
+            } else if (!replica.healthy) {
+                log.info("Read replica {} is back in rotation", replica.name);
+                replica.healthy = true;
+            }
+        }
+
+        readYourWrites.expire();
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public int getHealthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    public long getPinnedReads() {
+        return pinnedReads.sum();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // Helper methods
+    /**
+     * @return why the replica can't serve reads, or null when it can
+     */
+    private String probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(healthCheckTimeoutSeconds);
+
+            try (ResultSet result = statement.executeQuery(REPLICATION_LAG_SQL)) {
+                result.next();
+                double lag = result.getDouble(1);
+                return lag > maxLagSeconds ? String.format("%.1fs behind the primary", lag) : null;
+            }
+        } catch (SQLException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            log.warn("Read replica {} taken out of rotation: {}", replica.name, reason);
+            replica.healthy = false;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.hahn.projectmanager.config;
+
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.EntityChangedEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes window: once a user's change has committed, that user's
+ * reads stay on the primary for a while, so a lagging replica cannot make the
+ * change seem to disappear. Writes are remembered per instance only.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @TransactionalEventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (windowNanos > 0) {
+            lastWrites.put(event.userId(), System.nanoTime());
+        }
+    }
+
+    /**
+     * @return whether the authenticated user of the current thread changed something within the window
+     */
+    public boolean currentUserRecentlyWrote() {
+        if (lastWrites.isEmpty()) {
+            return false;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return false;
+        }
+
+        Long writtenAt = lastWrites.get(user.getId());
+        return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+    }
+
+    /** Forget users whose window has passed. */
+    public void expire() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+    }
+}
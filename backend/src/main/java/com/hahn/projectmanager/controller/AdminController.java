@@ -0,0 +1,36 @@
+package com.hahn.projectmanager.controller;
+
+import com.hahn.projectmanager.dto.user.BulkUserRequest;
+import com.hahn.projectmanager.dto.user.BulkUserResponse;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.UserProvisioningService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final UserProvisioningService userProvisioningService;
+
+    public AdminController(UserProvisioningService userProvisioningService) {
+        this.userProvisioningService = userProvisioningService;
+    }
+
+    /**
+     * Create many users at once (administrators listed in app.admin.emails only).
+     * Existing emails are skipped and reported, not treated as errors.
+     */
+    @PostMapping("/users/bulk")
+    public ResponseEntity<BulkUserResponse> provisionUsers(
+            @Valid @RequestBody BulkUserRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return ResponseEntity.ok(userProvisioningService.provision(request, user));
+    }
+}
@@ -2,6 +2,7 @@ package com.hahn.projectmanager.controller;
 
 import com.hahn.projectmanager.dto.auth.AuthResponse;
 import com.hahn.projectmanager.dto.auth.LoginRequest;
+import com.hahn.projectmanager.security.AuthenticatedUser;
 import com.hahn.projectmanager.security.JwtService;
 import com.hahn.projectmanager.service.AuthService;
 import jakarta.servlet.http.Cookie;
@@ -9,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -41,21 +43,24 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        String email = jwtService.extractEmail(refreshToken);
-        String newAccessToken = jwtService.generateAccessToken(email);
-
-        Cookie cookie = new Cookie("access_token", newAccessToken);
-        cookie.setHttpOnly(true);
-        cookie.setPath("/");
-        cookie.setMaxAge(900);
-        response.addCookie(cookie);
+        if (!authService.refresh(refreshToken, response)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
 
         return ResponseEntity.ok(new AuthResponse("Token refreshed"));
     }
 
 
+    /**
+     * Logout from this device: both tokens are revoked, not only forgotten by the browser
+     */
     @PostMapping("/logout")
-    public ResponseEntity<AuthResponse> logout(HttpServletResponse response) {
+    public ResponseEntity<AuthResponse> logout(
+            @CookieValue(name = "access_token", required = false) String accessToken,
+            @CookieValue(name = "refresh_token", required = false) String refreshToken,
+            HttpServletResponse response
+    ) {
+        authService.logout(accessToken, refreshToken);
 
         expireCookie(response, "access_token");
         expireCookie(response, "refresh_token");
@@ -63,6 +68,26 @@ public class AuthController {
         return ResponseEntity.ok(new AuthResponse("Logout successful"));
     }
 
+    /**
+     * Logout from every device by bumping the user's token version
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<AuthResponse> logoutAll(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletResponse response
+    ) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        authService.logoutEverywhere(user.getId());
+
+        expireCookie(response, "access_token");
+        expireCookie(response, "refresh_token");
+
+        return ResponseEntity.ok(new AuthResponse("Logged out from all devices"));
+    }
+
     private void expireCookie(HttpServletResponse response, String name) {
         Cookie cookie = new Cookie(name, "");
         cookie.setHttpOnly(true);
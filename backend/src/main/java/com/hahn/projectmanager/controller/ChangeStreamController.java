@@ -0,0 +1,33 @@
+package com.hahn.projectmanager.controller;
+
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.ChangeStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+public class ChangeStreamController {
+
+    private final ChangeStreamService changeStreamService;
+
+    public ChangeStreamController(ChangeStreamService changeStreamService) {
+        this.changeStreamService = changeStreamService;
+    }
+
+    /**
+     * Server-sent events for every committed change to the user's projects and tasks.
+     * Query params: projectId (only that project's changes)
+     * Event names: ready (carries the resume position), change, reset (reload everything)
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) Long projectId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return changeStreamService.subscribe(projectId, lastEventId, user);
+    }
+}
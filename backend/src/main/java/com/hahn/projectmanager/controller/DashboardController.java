@@ -0,0 +1,32 @@
+package com.hahn.projectmanager.controller;
+
+import com.hahn.projectmanager.dto.dashboard.DashboardResponse;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Every project of the user with total, completed, overdue and due-this-week
+     * task counts and progress, plus user-wide totals
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return ResponseEntity.ok(dashboardService.getDashboard(user));
+    }
+}
@@ -0,0 +1,43 @@
+package com.hahn.projectmanager.controller;
+
+import com.hahn.projectmanager.dto.page.CursorPage;
+import com.hahn.projectmanager.dto.task.DueTaskResponse;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.TaskService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/tasks")
+public class DueTaskController {
+
+    private final TaskService taskService;
+
+    public DueTaskController(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    /**
+     * Tasks due between from and to (inclusive, ISO dates) across all of the user's
+     * projects, earliest first. Overdue: from=<any past date>&to=<yesterday>&completed=false.
+     * Pass an empty cursor (or none) for the first page, then the returned nextCursor.
+     */
+    @GetMapping("/due")
+    public ResponseEntity<CursorPage<DueTaskResponse>> listDueTasks(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return ResponseEntity.ok(taskService.getDueTasks(from, to, completed, cursor, size, user));
+    }
+}
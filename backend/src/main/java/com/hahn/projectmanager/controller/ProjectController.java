@@ -2,28 +2,42 @@ package com.hahn.projectmanager.controller;
 
 import com.hahn.projectmanager.dto.page.PaginatedResponse;
 import com.hahn.projectmanager.dto.project.CreateProjectRequest;
+import com.hahn.projectmanager.dto.project.ProjectDeletionState;
+import com.hahn.projectmanager.dto.project.ProjectDeletionStatus;
 import com.hahn.projectmanager.dto.project.ProjectProgressResponse;
 import com.hahn.projectmanager.dto.project.ProjectResponse;
 import com.hahn.projectmanager.dto.project.UpdateProjectRequest;
-import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.ETags;
+import com.hahn.projectmanager.service.ProjectDeletionService;
 import com.hahn.projectmanager.service.ProjectService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/projects")
 public class ProjectController {
 
+    // Let browsers keep the response but revalidate it with If-None-Match every time
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final ProjectService projectService;
+    private final ProjectDeletionService projectDeletionService;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ProjectDeletionService projectDeletionService) {
         this.projectService = projectService;
+        this.projectDeletionService = projectDeletionService;
     }
 
     /**
@@ -32,7 +46,7 @@ public class ProjectController {
     @PostMapping
     public ResponseEntity<ProjectResponse> createProject(
             @Valid @RequestBody CreateProjectRequest request,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(projectService.createProject(request, user));
@@ -40,48 +54,110 @@ public class ProjectController {
 
     /**
      * List all projects for authenticated user (with pagination)
+     * Answers If-None-Match with 304 before any project is loaded
+     * Accept: application/cbor or application/x-jackson-smile for a binary body
      */
     @GetMapping
     public ResponseEntity<PaginatedResponse<ProjectResponse>> listProjects(
-            @AuthenticationPrincipal User user,
-            @PageableDefault(size = 10, sort = "id") Pageable pageable
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PageableDefault(size = 10, sort = "id") Pageable pageable,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(projectService.getUserProjects(user, pageable));
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String etag = ETags.forAccept(projectService.getProjectsEtag(user, pageable), accept);
+            if (ETags.matchesNoneMatch(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+
+        ETags.Tagged<PaginatedResponse<ProjectResponse>> projects = projectService.getTaggedUserProjects(user, pageable);
+
+        return ResponseEntity.ok()
+                .eTag(ETags.forAccept(projects.etag(), accept))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(projects.body());
     }
 
     /**
      * Get a specific project by ID
+     * Answers If-None-Match with 304 before the project is loaded
+     * Accept: application/cbor or application/x-jackson-smile for a binary body
      */
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponse> getProject(
             @PathVariable Long id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(projectService.getProjectById(id, user));
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // Null for missing or foreign projects: the full lookup below reports 404/403
+            String etag = ETags.forAccept(projectService.getProjectEtag(id, user), accept);
+            if (ETags.matchesNoneMatch(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+
+        // Tagged from the version that is sent, which may be newer than the one checked above
+        ETags.Tagged<ProjectResponse> project = projectService.getTaggedProject(id, user);
+
+        return ResponseEntity.ok()
+                .eTag(ETags.forAccept(project.etag(), accept))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(project.body());
     }
 
     /**
      * Update an existing project
+     * Optional If-Match: the project's ETag, 412 if it changed in the meantime
      */
     @PutMapping("/{id}")
     public ResponseEntity<ProjectResponse> updateProject(
             @PathVariable Long id,
             @Valid @RequestBody UpdateProjectRequest request,
-            @AuthenticationPrincipal User user
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        return ResponseEntity.ok(projectService.updateProject(id, request, user));
+        return ResponseEntity.ok(projectService.updateProject(id, request, ifMatch, user));
     }
 
     /**
      * Delete a project
+     * Optional If-Match: the project's ETag, 412 if it changed in the meantime
+     * async=true: 202 with the deletion status right away, progress at /{id}/deletion
+     * (also without it above app.project-deletion.async-threshold tasks)
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProject(
+    public ResponseEntity<ProjectDeletionStatus> deleteProject(
             @PathVariable Long id,
-            @AuthenticationPrincipal User user
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestParam(defaultValue = "false") boolean async,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        projectService.deleteProject(id, user);
-        return ResponseEntity.noContent().build();
+        ProjectDeletionStatus status = projectDeletionService.deleteProject(id, ifMatch, async, user);
+
+        if (status.state() == ProjectDeletionState.COMPLETED) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/projects/" + id + "/deletion"))
+                .body(status);
+    }
+
+    /**
+     * Progress of a project deletion
+     */
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<ProjectDeletionStatus> getDeletionStatus(
+            @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return ResponseEntity.ok(projectDeletionService.getDeletionStatus(id, user));
     }
 
     /**
@@ -90,8 +166,17 @@ public class ProjectController {
     @GetMapping("/{id}/progress")
     public ResponseEntity<ProjectProgressResponse> getProjectProgress(
             @PathVariable Long id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.ok(projectService.getProjectProgress(id, user));
     }
-}
\ No newline at end of file
+
+    // Helper methods
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.hahn.projectmanager.controller;
+
+import com.hahn.projectmanager.dto.task.TaskBatchRequest;
+import com.hahn.projectmanager.dto.task.TaskBatchResponse;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.TaskService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/tasks:batch")
+public class TaskBatchController {
+
+    private final TaskService taskService;
+
+    public TaskBatchController(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    /**
+     * Apply mixed create/update/toggle/delete operations in one transaction.
+     * Results are returned in request order; a failing item does not abort the others.
+     */
+    @PostMapping
+    public ResponseEntity<TaskBatchResponse> applyBatch(
+            @PathVariable Long projectId,
+            @Valid @RequestBody TaskBatchRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return ResponseEntity.ok(taskService.applyBatch(projectId, request, user));
+    }
+}
@@ -1,23 +1,32 @@
 package com.hahn.projectmanager.controller;
 
+import com.hahn.projectmanager.dto.page.CursorPage;
 import com.hahn.projectmanager.dto.task.CreateTaskRequest;
 import com.hahn.projectmanager.dto.task.TaskResponse;
+import com.hahn.projectmanager.dto.task.TaskSearchMode;
 import com.hahn.projectmanager.dto.task.UpdateTaskRequest;
-import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.ETags;
 import com.hahn.projectmanager.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/tasks")
 public class TaskController {
 
+    // Cacheable by the browser only, revalidated with If-None-Match on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TaskService taskService;
 
     public TaskController(TaskService taskService) {
@@ -26,31 +35,106 @@ public class TaskController {
 
     /**
      * List all tasks for a project with optional filters
-     * Query params: completed (true/false), search (search by title)
+     * Query params: completed (true/false), search (search by title),
+     * searchMode (CONTAINS or FULLTEXT for ranked prefix search on title and description)
+     * Answers If-None-Match with 304 before any task is loaded
+     * Accept: application/cbor or application/x-jackson-smile for a binary body
      */
     @GetMapping
     public ResponseEntity<Page<TaskResponse>> listTasks(
             @PathVariable Long projectId,
             @RequestParam(required = false) Boolean completed,
             @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "CONTAINS") TaskSearchMode searchMode,
             @PageableDefault(size = 20, sort = "id") Pageable pageable,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(
-                taskService.getTasks(projectId, completed, search, pageable, user)
-        );
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String etag = ETags.forAccept(
+                    taskService.getTasksEtag(projectId, user, completed, search, searchMode, pageable), accept);
+            if (ETags.matchesNoneMatch(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+
+        ETags.Tagged<Page<TaskResponse>> tasks =
+                taskService.getTaggedTasks(projectId, completed, search, searchMode, pageable, user);
+
+        return ResponseEntity.ok()
+                .eTag(ETags.forAccept(tasks.etag(), accept))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(tasks.body());
+    }
+
+    /**
+     * List tasks with keyset pagination, selected by the presence of the cursor param.
+     * Pass an empty cursor for the first page, then the returned nextCursor.
+     * Query params: completed, search, sort (id or title), size
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<TaskResponse>> listTasksByCursor(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest
+    ) {
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String etag = ETags.forAccept(
+                    taskService.getTasksEtag(projectId, user, completed, search, cursor, sort, size), accept);
+            if (ETags.matchesNoneMatch(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+
+        ETags.Tagged<CursorPage<TaskResponse>> tasks =
+                taskService.getTaggedTasksByCursor(projectId, completed, search, sort, cursor, size, user);
+
+        return ResponseEntity.ok()
+                .eTag(ETags.forAccept(tasks.etag(), accept))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(tasks.body());
     }
 
     /**
      * Get a specific task
+     * Accept: application/cbor or application/x-jackson-smile for a binary body
      */
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskResponse> getTask(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(taskService.getTaskById(projectId, taskId, user));
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // Null for missing or foreign tasks: the full lookup below reports 404/403
+            String etag = ETags.forAccept(taskService.getTaskEtag(projectId, taskId, user), accept);
+            if (ETags.matchesNoneMatch(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+
+        // Tagged from the version that is sent, which may be newer than the one checked above
+        ETags.Tagged<TaskResponse> task = taskService.getTaggedTask(projectId, taskId, user);
+
+        return ResponseEntity.ok()
+                .eTag(ETags.forAccept(task.etag(), accept))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(task.body());
     }
 
     /**
@@ -60,7 +144,7 @@ public class TaskController {
     public ResponseEntity<TaskResponse> createTask(
             @PathVariable Long projectId,
             @Valid @RequestBody CreateTaskRequest request,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(taskService.createTask(projectId, request, user));
@@ -68,16 +152,18 @@ public class TaskController {
 
     /**
      * Update an existing task
+     * Optional If-Match: the task's ETag, 412 if it changed in the meantime
      */
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
             @Valid @RequestBody UpdateTaskRequest request,
-            @AuthenticationPrincipal User user
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.ok(
-                taskService.updateTask(projectId, taskId, request, user)
+                taskService.updateTask(projectId, taskId, request, ifMatch, user)
         );
     }
 
@@ -88,10 +174,11 @@ public class TaskController {
     public ResponseEntity<TaskResponse> markTaskCompleted(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
-            @AuthenticationPrincipal User user
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.ok(
-                taskService.markCompleted(projectId, taskId, user)
+                taskService.markCompleted(projectId, taskId, ifMatch, user)
         );
     }
 
@@ -103,10 +190,11 @@ public class TaskController {
             @PathVariable Long projectId,
             @PathVariable Long taskId,
             @RequestParam boolean completed,
-            @AuthenticationPrincipal User user
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.ok(
-                taskService.toggleCompletion(projectId, taskId, completed, user)
+                taskService.toggleCompletion(projectId, taskId, completed, ifMatch, user)
         );
     }
 
@@ -117,9 +205,19 @@ public class TaskController {
     public ResponseEntity<Void> deleteTask(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
-            @AuthenticationPrincipal User user
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        taskService.deleteTask(projectId, taskId, user);
+        taskService.deleteTask(projectId, taskId, ifMatch, user);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // Helper methods
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.hahn.projectmanager.controller;
+
+import com.hahn.projectmanager.dto.task.TaskDataFormat;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.TaskExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/tasks:export")
+public class TaskExportController {
+
+    private final TaskExportService taskExportService;
+
+    public TaskExportController(TaskExportService taskExportService) {
+        this.taskExportService = taskExportService;
+    }
+
+    /**
+     * Stream every task of the project, ordered by id.
+     * Query params: format (NDJSON or CSV)
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "NDJSON") TaskDataFormat format,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        StreamingResponseBody body = taskExportService.exportTasks(projectId, format, user);
+
+        boolean csv = format == TaskDataFormat.CSV;
+        String fileName = "project-" + projectId + "-tasks." + (csv ? "csv" : "ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? "text/csv" : "application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,66 @@
+package com.hahn.projectmanager.controller;
+
+import com.hahn.projectmanager.dto.task.TaskDataFormat;
+import com.hahn.projectmanager.dto.task.TaskImportSummary;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import com.hahn.projectmanager.service.TaskImportService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/tasks:import")
+public class TaskImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final TaskImportService taskImportService;
+
+    public TaskImportController(TaskImportService taskImportService) {
+        this.taskImportService = taskImportService;
+    }
+
+    /**
+     * Stream a CSV upload (header row required) into the project.
+     */
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<TaskImportSummary> importCsv(
+            @PathVariable Long projectId,
+            InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) throws IOException {
+        return ResponseEntity.ok(taskImportService.importTasks(projectId, TaskDataFormat.CSV, body, user));
+    }
+
+    /**
+     * Stream an NDJSON upload (one task object per line) into the project.
+     */
+    @PostMapping(consumes = NDJSON)
+    public ResponseEntity<TaskImportSummary> importNdjson(
+            @PathVariable Long projectId,
+            InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) throws IOException {
+        return ResponseEntity.ok(taskImportService.importTasks(projectId, TaskDataFormat.NDJSON, body, user));
+    }
+
+    /**
+     * Download the rejected rows of an import as CSV (line,error).
+     */
+    @GetMapping("/errors/{reportId}")
+    public ResponseEntity<Resource> getErrorReport(
+            @PathVariable Long projectId,
+            @PathVariable String reportId,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(new FileSystemResource(taskImportService.getErrorReport(projectId, reportId, user)));
+    }
+}
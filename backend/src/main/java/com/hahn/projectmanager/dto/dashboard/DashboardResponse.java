@@ -0,0 +1,34 @@
+package com.hahn.projectmanager.dto.dashboard;
+
+import java.util.List;
+
+/**
+ * All projects of the user with their task figures, plus the same figures
+ * rolled up over every project.
+ */
+public record DashboardResponse(
+        int totalProjects,
+        long totalTasks,
+        long completedTasks,
+        long overdueTasks,
+        long dueThisWeekTasks,
+        int progressPercentage,
+        List<ProjectDashboardItem> projects
+) {
+
+    public static DashboardResponse of(List<ProjectDashboardItem> projects) {
+        long total = 0, completed = 0, overdue = 0, dueThisWeek = 0;
+        for (ProjectDashboardItem project : projects) {
+            total += project.totalTasks();
+            completed += project.completedTasks();
+            overdue += project.overdueTasks();
+            dueThisWeek += project.dueThisWeekTasks();
+        }
+        return new DashboardResponse(projects.size(), total, completed, overdue, dueThisWeek,
+                progress(total, completed), projects);
+    }
+
+    static int progress(long total, long completed) {
+        return total == 0 ? 0 : (int) ((completed * 100) / total);
+    }
+}
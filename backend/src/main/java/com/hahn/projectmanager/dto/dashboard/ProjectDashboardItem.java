@@ -0,0 +1,23 @@
+package com.hahn.projectmanager.dto.dashboard;
+
+/**
+ * Task figures of one project. Overdue and due-this-week count open tasks only;
+ * the week ends on Sunday.
+ */
+public record ProjectDashboardItem(
+        Long projectId,
+        String title,
+        long totalTasks,
+        long completedTasks,
+        long overdueTasks,
+        long dueThisWeekTasks,
+        int progressPercentage
+) {
+
+    /** Used by the aggregate query; the progress follows from the counts. */
+    public ProjectDashboardItem(Long projectId, String title, Long totalTasks, Long completedTasks,
+                                Long overdueTasks, Long dueThisWeekTasks) {
+        this(projectId, title, totalTasks, completedTasks, overdueTasks, dueThisWeekTasks,
+                DashboardResponse.progress(totalTasks, completedTasks));
+    }
+}
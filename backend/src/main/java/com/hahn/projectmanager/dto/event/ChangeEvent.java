@@ -0,0 +1,11 @@
+package com.hahn.projectmanager.dto.event;
+
+/**
+ * Compact change notification: what changed, not the new state.
+ * taskId is null for project-level changes and TASKS_CHANGED.
+ */
+public record ChangeEvent(
+        ChangeType type,
+        Long projectId,
+        Long taskId
+) {}
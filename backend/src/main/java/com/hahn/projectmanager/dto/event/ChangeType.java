@@ -0,0 +1,16 @@
+package com.hahn.projectmanager.dto.event;
+
+/**
+ * Kinds of change pushed on the change stream.
+ * TASKS_CHANGED stands for many task changes at once (batch, import):
+ * clients reload the project's task list instead of patching single tasks.
+ */
+public enum ChangeType {
+    PROJECT_CREATED,
+    PROJECT_UPDATED,
+    PROJECT_DELETED,
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    TASKS_CHANGED
+}
@@ -0,0 +1,10 @@
+package com.hahn.projectmanager.dto.project;
+
+/**
+ * Fingerprint of all projects of an owner: any create, delete or update changes at least one value.
+ */
+public record ProjectCollectionVersion(
+        Long count,
+        Long idSum,
+        Long versionSum
+) {}
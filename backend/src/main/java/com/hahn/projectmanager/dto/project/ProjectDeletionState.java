@@ -0,0 +1,7 @@
+package com.hahn.projectmanager.dto.project;
+
+public enum ProjectDeletionState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
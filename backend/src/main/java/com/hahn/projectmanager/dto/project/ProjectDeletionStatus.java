@@ -0,0 +1,10 @@
+package com.hahn.projectmanager.dto.project;
+
+
+public record ProjectDeletionStatus(
+        Long projectId,
+        ProjectDeletionState state,
+        long totalTasks,
+        long deletedTasks,
+        int progressPercentage
+) {}
@@ -1,7 +0,0 @@
-package com.hahn.projectmanager.dto.project;
-
-public interface ProjectTaskCount {
-    Long getProjectId();
-    Long getTotalTasks();
-    Long getCompletedTasks();
-}
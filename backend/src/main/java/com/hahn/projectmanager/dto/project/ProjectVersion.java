@@ -0,0 +1,9 @@
+package com.hahn.projectmanager.dto.project;
+
+/**
+ * Version columns of one project, enough to compute its ETag without loading it.
+ */
+public record ProjectVersion(
+        Long version,
+        Long tasksVersion
+) {}
@@ -0,0 +1,15 @@
+package com.hahn.projectmanager.dto.task;
+
+import java.time.LocalDate;
+
+/**
+ * A task listed across projects, with the project it belongs to.
+ */
+public record DueTaskResponse(
+        Long id,
+        Long projectId,
+        String projectTitle,
+        String title,
+        LocalDate dueDate,
+        boolean completed
+) {}
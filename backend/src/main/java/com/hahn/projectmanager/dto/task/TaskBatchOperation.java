@@ -0,0 +1,17 @@
+package com.hahn.projectmanager.dto.task;
+
+import java.time.LocalDate;
+
+/**
+ * One operation of a batch. Which fields are required depends on the type:
+ * CREATE (title), UPDATE (taskId, title), TOGGLE (taskId, completed), DELETE (taskId).
+ * Fields are checked per item so that one bad item does not reject the batch.
+ */
+public record TaskBatchOperation(
+        TaskBatchOperationType op,
+        Long taskId,
+        String title,
+        String description,
+        LocalDate dueDate,
+        Boolean completed
+) {}
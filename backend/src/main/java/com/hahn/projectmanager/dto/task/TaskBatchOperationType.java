@@ -0,0 +1,8 @@
+package com.hahn.projectmanager.dto.task;
+
+public enum TaskBatchOperationType {
+    CREATE,
+    UPDATE,
+    TOGGLE,
+    DELETE
+}
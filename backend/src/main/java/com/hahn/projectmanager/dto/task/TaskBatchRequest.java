@@ -0,0 +1,10 @@
+package com.hahn.projectmanager.dto.task;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TaskBatchRequest(
+        @NotEmpty @Size(max = 1000) List<TaskBatchOperation> operations
+) {}
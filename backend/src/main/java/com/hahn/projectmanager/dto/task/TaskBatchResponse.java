@@ -0,0 +1,9 @@
+package com.hahn.projectmanager.dto.task;
+
+import java.util.List;
+
+public record TaskBatchResponse(
+        int succeeded,
+        int failed,
+        List<TaskBatchResult> results
+) {}
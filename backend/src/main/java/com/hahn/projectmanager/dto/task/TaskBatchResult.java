@@ -0,0 +1,9 @@
+package com.hahn.projectmanager.dto.task;
+
+public record TaskBatchResult(
+        int index,
+        TaskBatchOperationType op,
+        int status,
+        TaskResponse task,
+        String error
+) {}
@@ -0,0 +1,11 @@
+package com.hahn.projectmanager.dto.task;
+
+/**
+ * File formats of the bulk import and export.
+ * CSV has a header row naming the columns (id, title, description, dueDate, completed;
+ * id is ignored on import); NDJSON has one task object per line with the same field names.
+ */
+public enum TaskDataFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,13 @@
+package com.hahn.projectmanager.dto.task;
+
+import java.time.LocalDate;
+
+/**
+ * One task of a bulk import, as read from a CSV record or an NDJSON line.
+ */
+public record TaskImportRow(
+        String title,
+        String description,
+        LocalDate dueDate,
+        Boolean completed
+) {}
@@ -0,0 +1,13 @@
+package com.hahn.projectmanager.dto.task;
+
+/**
+ * Outcome of a bulk import. errorReportId is null when every row was imported,
+ * otherwise it identifies a CSV file listing each rejected row and the reason.
+ */
+public record TaskImportSummary(
+        long imported,
+        long rejected,
+        long elapsedMillis,
+        long rowsPerSecond,
+        String errorReportId
+) {}
@@ -0,0 +1,10 @@
+package com.hahn.projectmanager.dto.task;
+
+public enum TaskSearchMode {
+
+    // Case-insensitive substring match on the title
+    CONTAINS,
+
+    // Prefix-matching full-text search on title and description, ranked by relevance
+    FULLTEXT
+}
@@ -0,0 +1,15 @@
+package com.hahn.projectmanager.dto.user;
+
+import com.hahn.projectmanager.dto.auth.RegisterRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * At most 1000 users per request: hashing them keeps the request open for a while.
+ */
+public record BulkUserRequest(
+        @NotEmpty @Size(max = 1000) List<@Valid RegisterRequest> users
+) {}
@@ -0,0 +1,12 @@
+package com.hahn.projectmanager.dto.user;
+
+import java.util.List;
+
+/**
+ * @param skippedEmails emails that already existed or were repeated in the request
+ */
+public record BulkUserResponse(
+        int requested,
+        int created,
+        List<String> skippedEmails
+) {}
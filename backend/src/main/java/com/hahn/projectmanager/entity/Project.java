@@ -1,12 +1,20 @@
 package com.hahn.projectmanager.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
 @Table(name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 public class Project {
 
     @Id
@@ -25,6 +33,29 @@ public class Project {
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks = new ArrayList<>();
 
+    // Maintained by atomic UPDATEs in ProjectCounterRepository, never written from the entity
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int totalTasks;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int completedTasks;
+
+    // Optimistic lock on the project's own fields
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Bumped in ProjectCounterRepository on every change to the project's tasks
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long tasksVersion;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
     // Constructors
     public Project() {
     }
@@ -58,6 +89,26 @@ public class Project {
         return tasks;
     }
 
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getTasksVersion() {
+        return tasksVersion;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     // Setters
     public void setId(Long id) {
         this.id = id;
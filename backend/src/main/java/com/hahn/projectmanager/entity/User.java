@@ -1,6 +1,11 @@
 package com.hahn.projectmanager.entity;
 
+import com.hahn.projectmanager.security.AuthenticatedUser;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -11,7 +16,10 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "users")
-public class User implements UserDetails {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
+public class User implements UserDetails, AuthenticatedUser {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,6 +28,7 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private String name;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -29,6 +38,9 @@ public class User implements UserDetails {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(nullable = false)
+    private int tokenVersion;
+
     // Constructors
     public User() {
     }
@@ -42,14 +54,17 @@ public class User implements UserDetails {
     }
 
     // Getters
+    @Override
     public Long getId() {
         return id;
     }
 
+    @Override
     public String getName() {
         return name;
     }
 
+    @Override
     public String getEmail() {
         return email;
     }
@@ -63,6 +78,10 @@ public class User implements UserDetails {
         return createdAt;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     // Setters
     public void setId(Long id) {
         this.id = id;
@@ -84,6 +103,10 @@ public class User implements UserDetails {
         this.createdAt = createdAt;
     }
 
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     // UserDetails interface methods
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
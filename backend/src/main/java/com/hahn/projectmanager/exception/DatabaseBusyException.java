@@ -0,0 +1,14 @@
+package com.hahn.projectmanager.exception;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown when no database permit frees up in time. A SQLException so that it
+ * can surface from DataSource.getConnection() like a pool timeout would.
+ */
+public class DatabaseBusyException extends SQLTransientConnectionException {
+
+    public DatabaseBusyException(long waitedMillis) {
+        super("No database connection available after " + waitedMillis + " ms");
+    }
+}
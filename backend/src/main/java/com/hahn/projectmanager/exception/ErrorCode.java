@@ -13,8 +13,11 @@ public enum ErrorCode {
     PROJECT_NOT_FOUND,
     TASK_NOT_FOUND,
     ACCESS_DENIED,
+    PRECONDITION_FAILED,
 
     // Generic
     RESOURCE_NOT_FOUND,
+    SERVICE_UNAVAILABLE,
+    TOO_MANY_REQUESTS,
     INTERNAL_ERROR
 }
@@ -1,11 +1,16 @@
 package com.hahn.projectmanager.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 
@@ -85,10 +90,89 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(
+            PreconditionFailedException ex,
+            HttpServletRequest request
+    ) {
+        return build(
+                HttpStatus.PRECONDITION_FAILED,
+                ErrorCode.PRECONDITION_FAILED,
+                ex.getMessage(),
+                request
+        );
+    }
+
+    @ExceptionHandler(ProjectBeingDeletedException.class)
+    public ResponseEntity<ApiError> handleProjectBeingDeleted(
+            ProjectBeingDeletedException ex,
+            HttpServletRequest request
+    ) {
+        return build(
+                HttpStatus.CONFLICT,
+                ErrorCode.CONFLICT,
+                ex.getMessage(),
+                request
+        );
+    }
+
+    // Concurrent write detected by a @Version check at flush time
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLock(
+            ObjectOptimisticLockingFailureException ex,
+            HttpServletRequest request
+    ) {
+        return build(
+                HttpStatus.CONFLICT,
+                ErrorCode.CONFLICT,
+                "The resource was modified concurrently, reload it and try again",
+                request
+        );
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiError> handleResourceNotFound(
+            ResourceNotFoundException ex,
+            HttpServletRequest request
+    ) {
+        return build(
+                HttpStatus.NOT_FOUND,
+                ErrorCode.RESOURCE_NOT_FOUND,
+                ex.getMessage(),
+                request
+        );
+    }
+
     /* =========================
        VALIDATION
        ========================= */
 
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ApiError> handleInvalidImport(
+            InvalidImportException ex,
+            HttpServletRequest request
+    ) {
+        return build(
+                HttpStatus.BAD_REQUEST,
+                ErrorCode.VALIDATION_ERROR,
+                ex.getMessage(),
+                request
+        );
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursor(
+            InvalidCursorException ex,
+            HttpServletRequest request
+    ) {
+        return build(
+                HttpStatus.BAD_REQUEST,
+                ErrorCode.VALIDATION_ERROR,
+                ex.getMessage(),
+                request
+        );
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(
             MethodArgumentNotValidException ex,
@@ -109,6 +193,64 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> handleTypeMismatch(
+            MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request
+    ) {
+        return build(
+                HttpStatus.BAD_REQUEST,
+                ErrorCode.VALIDATION_ERROR,
+                ex.getName() + ": invalid value '" + ex.getValue() + "'",
+                request
+        );
+    }
+
+    /* =========================
+       CAPACITY
+       ========================= */
+
+    /**
+     * 503 only when the connection limiter turned the request away. Any other
+     * failure to get a connection is an outage, not load: clients should not
+     * be told to retry it.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ApiError> handleDatabaseBusy(
+            Exception ex,
+            HttpServletRequest request
+    ) {
+        if (!causedByDatabaseBusy(ex)) {
+            return handleGeneric(ex, request);
+        }
+
+        ResponseEntity<ApiError> response = build(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ErrorCode.SERVICE_UNAVAILABLE,
+                "The service is busy, please retry shortly",
+                request
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiError> handlePasswordHashingBusy(
+            PasswordHashingBusyException ex,
+            HttpServletRequest request
+    ) {
+        ResponseEntity<ApiError> response = build(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ErrorCode.TOO_MANY_REQUESTS,
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
     /* =========================
        FALLBACK
        ========================= */
@@ -130,6 +272,15 @@ public class GlobalExceptionHandler {
        BUILDER
        ========================= */
 
+    private static boolean causedByDatabaseBusy(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseBusyException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private ResponseEntity<ApiError> build(
             HttpStatus status,
             ErrorCode code,
@@ -0,0 +1,8 @@
+package com.hahn.projectmanager.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super("Invalid or expired page cursor");
+    }
+}
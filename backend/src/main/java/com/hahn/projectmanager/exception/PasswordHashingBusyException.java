@@ -0,0 +1,12 @@
+package com.hahn.projectmanager.exception;
+
+/**
+ * Thrown when the password hashing queue is full; the request is turned
+ * away at once instead of holding its thread while hashes pile up.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many sign-ins in progress, please retry shortly");
+    }
+}
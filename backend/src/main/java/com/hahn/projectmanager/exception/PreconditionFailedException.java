@@ -0,0 +1,8 @@
+package com.hahn.projectmanager.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException() {
+        super("The resource was modified by someone else, reload it and try again");
+    }
+}
@@ -0,0 +1,8 @@
+package com.hahn.projectmanager.exception;
+
+public class ProjectBeingDeletedException extends RuntimeException {
+
+    public ProjectBeingDeletedException(Long id) {
+        super("Project with id " + id + " is being deleted");
+    }
+}
@@ -0,0 +1,31 @@
+package com.hahn.projectmanager.repository;
+
+/**
+ * Atomic updates of the task counters and tasks version of one project, and
+ * its set-based deletion. Concurrent task mutations serialize on the row lock.
+ */
+public interface ProjectCounterRepository {
+
+    /** Adjust the counters and bump tasks_version, which keys the task-list ETags. */
+    int adjustTaskCounters(Long projectId, int totalDelta, int completedDelta);
+
+    /** For task changes that leave the counters alone (e.g. a title edit). */
+    int touchTasks(Long projectId);
+
+    /**
+     * Delete up to chunkSize of the project's tasks and take them off its counters,
+     * in a transaction of its own unless the caller has one.
+     *
+     * @return number of tasks deleted, 0 once none are left
+     */
+    int deleteTaskChunk(Long projectId, int chunkSize);
+
+    /**
+     * Lock the project row until the transaction ends. Task inserts (through
+     * their foreign key check) and counter updates wait for it.
+     */
+    void lockProjectRow(Long projectId);
+
+    /** Delete the project row; tasks still left go with it (ON DELETE CASCADE). */
+    int deleteProjectRow(Long projectId);
+}
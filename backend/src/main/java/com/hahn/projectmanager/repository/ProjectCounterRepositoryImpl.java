@@ -0,0 +1,130 @@
+package com.hahn.projectmanager.repository;
+
+import com.hahn.projectmanager.entity.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * The counter updates and deletions are native SQL, so Hibernate cannot tell which
+ * cached project they change and would evict every region around them. They declare
+ * the tasks table as their query space instead (tasks are not cached) and
+ * soft-lock the one cached project until the transaction completes, the same
+ * protocol Hibernate follows for its own entity updates.
+ */
+class ProjectCounterRepositoryImpl implements ProjectCounterRepository {
+
+    private static final String ADJUST_TASK_COUNTERS = """
+            UPDATE projects
+            SET total_tasks = total_tasks + :totalDelta,
+                completed_tasks = completed_tasks + :completedDelta,
+                tasks_version = tasks_version + 1
+            WHERE id = :projectId
+            """;
+
+    private static final String TOUCH_TASKS =
+            "UPDATE projects SET tasks_version = tasks_version + 1 WHERE id = :projectId";
+
+    // Lowest ids first through (project_id, id); only the chunk's rows are locked
+    private static final String DELETE_TASK_CHUNK = """
+            WITH doomed AS (
+                SELECT id FROM tasks WHERE project_id = :projectId ORDER BY id LIMIT :chunkSize
+            )
+            DELETE FROM tasks t USING doomed d
+            WHERE t.id = d.id
+            RETURNING t.completed
+            """;
+
+    private static final String DELETE_PROJECT = "DELETE FROM projects WHERE id = :projectId";
+
+    private static final String LOCK_PROJECT = "SELECT id FROM projects WHERE id = :projectId FOR UPDATE";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int adjustTaskCounters(Long projectId, int totalDelta, int completedDelta) {
+        Query query = entityManager.createNativeQuery(ADJUST_TASK_COUNTERS)
+                .setParameter("totalDelta", totalDelta)
+                .setParameter("completedDelta", completedDelta);
+        return executeOnProject(projectId, query);
+    }
+
+    @Override
+    public int touchTasks(Long projectId) {
+        return executeOnProject(projectId, entityManager.createNativeQuery(TOUCH_TASKS));
+    }
+
+    @Override
+    @Transactional
+    public int deleteTaskChunk(Long projectId, int chunkSize) {
+        List<?> completedFlags = entityManager.createNativeQuery(DELETE_TASK_CHUNK)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("tasks")
+                .setParameter("projectId", projectId)
+                .setParameter("chunkSize", chunkSize)
+                .getResultList();
+
+        if (completedFlags.isEmpty()) {
+            return 0;
+        }
+
+        int completed = (int) completedFlags.stream().filter(Boolean.TRUE::equals).count();
+        adjustTaskCounters(projectId, -completedFlags.size(), -completed);
+        return completedFlags.size();
+    }
+
+    @Override
+    public void lockProjectRow(Long projectId) {
+        entityManager.createNativeQuery(LOCK_PROJECT)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("tasks")
+                .setParameter("projectId", projectId)
+                .getResultList();
+    }
+
+    @Override
+    public int deleteProjectRow(Long projectId) {
+        return executeOnProject(projectId, entityManager.createNativeQuery(DELETE_PROJECT));
+    }
+
+    // Helper methods
+    private int executeOnProject(Long projectId, Query query) {
+        lockCachedProject(projectId);
+
+        return query.unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("tasks")
+                .setParameter("projectId", projectId)
+                .executeUpdate();
+    }
+
+    /**
+     * Until the lock is released after commit or rollback, the cached project is
+     * a miss, and loads that read the old row cannot put it back.
+     */
+    private void lockCachedProject(Long projectId) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Project.class);
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        if (cache == null) {
+            // Second-level cache disabled
+            return;
+        }
+
+        Object key = cache.generateCacheKey(projectId, persister, session.getFactory(), session.getTenantIdentifier());
+        // A lock over the cached row would keep its @Version, which counter updates
+        // don't bump, and reject reloads until the lock times out. Without a version,
+        // loads that start after the unlock may cache the row again.
+        cache.evict(key);
+        SoftLock lock = cache.lockItem(session, key, null);
+        session.getActionQueue().registerProcess((success, s) -> cache.unlockItem(s, key, lock));
+    }
+}
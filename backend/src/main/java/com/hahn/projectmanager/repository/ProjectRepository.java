@@ -1,44 +1,100 @@
 package com.hahn.projectmanager.repository;
 
-import com.hahn.projectmanager.dto.project.ProjectTaskCount;
+import com.hahn.projectmanager.dto.dashboard.ProjectDashboardItem;
+import com.hahn.projectmanager.dto.project.ProjectCollectionVersion;
+import com.hahn.projectmanager.dto.project.ProjectVersion;
 import com.hahn.projectmanager.entity.Project;
-import com.hahn.projectmanager.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {
-
-    @Query("SELECT p FROM Project p JOIN FETCH p.owner WHERE p.owner = :owner")
-    Page<Project> findByOwnerWithOwner(@Param("owner") User owner, Pageable pageable);
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectCounterRepository {
 
+    @Query("SELECT p FROM Project p WHERE p.owner.id = :ownerId")
+    Page<Project> findByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
 
+    @Query("""
+            SELECT new com.hahn.projectmanager.dto.project.ProjectVersion(p.version, p.tasksVersion)
+            FROM Project p
+            WHERE p.id = :projectId AND p.owner.id = :ownerId
+            """)
+    Optional<ProjectVersion> findVersion(@Param("projectId") Long projectId, @Param("ownerId") Long ownerId);
 
     @Query("""
-       SELECT p.id as projectId,
-              COUNT(t.id) as totalTasks,
-              SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) as completedTasks
-       FROM Project p
-       LEFT JOIN p.tasks t
-       WHERE p.owner = :owner
-       GROUP BY p.id
-       """)
-    List<ProjectTaskCount> findTaskCountsByOwner(@Param("owner") User owner);
+            SELECT new com.hahn.projectmanager.dto.project.ProjectCollectionVersion(
+                COUNT(p), COALESCE(SUM(p.id), 0), COALESCE(SUM(p.version + p.tasksVersion), 0))
+            FROM Project p
+            WHERE p.owner.id = :ownerId
+            """)
+    ProjectCollectionVersion findCollectionVersion(@Param("ownerId") Long ownerId);
 
+    // One pass over the owner's tasks: every figure is a filtered count of the same join
     @Query("""
-   SELECT p.id as projectId,
-          COUNT(t.id) as totalTasks,
-          SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) as completedTasks
-   FROM Project p
-   LEFT JOIN p.tasks t
-   WHERE p.id = :projectId
-   GROUP BY p.id
-   """)
-    ProjectTaskCount findTaskCountByProjectId(@Param("projectId") Long projectId);
+            SELECT new com.hahn.projectmanager.dto.dashboard.ProjectDashboardItem(
+                p.id, p.title,
+                COUNT(t),
+                COUNT(t) FILTER (WHERE t.completed = true),
+                COUNT(t) FILTER (WHERE t.completed = false AND t.dueDate < :today),
+                COUNT(t) FILTER (WHERE t.completed = false AND t.dueDate BETWEEN :today AND :weekEnd))
+            FROM Project p LEFT JOIN Task t ON t.project = p
+            WHERE p.owner.id = :ownerId
+            GROUP BY p.id, p.title
+            ORDER BY p.id
+            """)
+    List<ProjectDashboardItem> findDashboard(
+            @Param("ownerId") Long ownerId,
+            @Param("today") LocalDate today,
+            @Param("weekEnd") LocalDate weekEnd
+    );
+
+    @Query("SELECT p.tasksVersion FROM Project p WHERE p.id = :projectId AND p.owner.id = :ownerId")
+    Optional<Long> findTasksVersion(@Param("projectId") Long projectId, @Param("ownerId") Long ownerId);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Project p")
+    long findMaxId();
 
+    // Held until the caller's transaction ends; task writes wait on these rows
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT id FROM projects WHERE id > :fromId AND id <= :toId ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
 
+    // Recompute counters for a range of projects, touching only the rows that drifted.
+    // The counts come from the statement's snapshot, so the rows must already be locked
+    // (lockIdRange, same transaction): see TaskCounterReconciler.
+    // Correlated counts keep every lookup on the (project_id, ...) task indexes.
+    // Declaring the projects space evicts only the project cache region, once per chunk.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "projects"))
+    @Query(value = """
+            UPDATE projects p
+            SET total_tasks = c.total,
+                completed_tasks = c.completed,
+                tasks_version = p.tasks_version + 1
+            FROM (
+                     SELECT pr.id,
+                            (SELECT COUNT(*) FROM tasks t
+                             WHERE t.project_id = pr.id) AS total,
+                            (SELECT COUNT(*) FROM tasks t
+                             WHERE t.project_id = pr.id AND t.completed) AS completed
+                     FROM projects pr
+                     WHERE pr.id > :fromId AND pr.id <= :toId
+                 ) c
+            WHERE p.id = c.id
+              AND (p.total_tasks <> c.total OR p.completed_tasks <> c.completed)
+            """, nativeQuery = true)
+    int reconcileTaskCounters(@Param("fromId") long fromId, @Param("toId") long toId);
 }
@@ -1,17 +1,48 @@
 package com.hahn.projectmanager.repository;
 
+import com.hahn.projectmanager.dto.task.DueTaskResponse;
 import com.hahn.projectmanager.entity.Project;
 import com.hahn.projectmanager.entity.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
     Page<Task> findByProject(Project project, Pageable pageable);
 
+    List<Task> findByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Task + project + ownership resolved in one indexed statement
+    @Query("SELECT t FROM Task t WHERE t.id = :taskId " +
+            "AND t.project.id = :projectId " +
+            "AND t.project.owner.id = :ownerId")
+    Optional<Task> findOwnedTask(
+            @Param("taskId") Long taskId,
+            @Param("projectId") Long projectId,
+            @Param("ownerId") Long ownerId
+    );
+
+    @Query("SELECT t.version FROM Task t WHERE t.id = :taskId " +
+            "AND t.project.id = :projectId " +
+            "AND t.project.owner.id = :ownerId")
+    Optional<Long> findOwnedTaskVersion(
+            @Param("taskId") Long taskId,
+            @Param("projectId") Long projectId,
+            @Param("ownerId") Long ownerId
+    );
+
     Page<Task> findByProjectAndCompleted(
             Project project,
             boolean completed,
@@ -29,7 +60,96 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
             Pageable pageable
     );
 
-    long countByProject(Project project);
+    // Full-text search with prefix matching, ranked by relevance (title weighs more)
+    @Query(value = """
+            SELECT t.* FROM tasks t
+            WHERE t.project_id = :projectId
+              AND (CAST(:completed AS boolean) IS NULL OR t.completed = CAST(:completed AS boolean))
+              AND t.search_vector @@ to_tsquery('simple', :query)
+            ORDER BY ts_rank(t.search_vector, to_tsquery('simple', :query)) DESC, t.id
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM tasks t
+            WHERE t.project_id = :projectId
+              AND (CAST(:completed AS boolean) IS NULL OR t.completed = CAST(:completed AS boolean))
+              AND t.search_vector @@ to_tsquery('simple', :query)
+            """,
+            nativeQuery = true)
+    Page<Task> fullTextSearchTasks(
+            @Param("projectId") Long projectId,
+            @Param("completed") Boolean completed,
+            @Param("query") String query,
+            Pageable pageable
+    );
+
+    /*
+     * Keyset (cursor) pagination: each query seeks past the last row of the
+     * previous page instead of skipping an offset, and runs no COUNT.
+     * Backed by the (project_id, ..., id) indexes from V5.
+     */
 
-    long countByProjectAndCompletedTrue(Project project);
-}
\ No newline at end of file
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
+            "AND t.id > :afterId " +
+            "ORDER BY t.id")
+    List<Task> findPageAfterId(
+            @Param("projectId") Long projectId,
+            @Param("afterId") long afterId,
+            Limit limit
+    );
+
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
+            "AND t.completed = :completed " +
+            "AND t.id > :afterId " +
+            "ORDER BY t.id")
+    List<Task> findPageByCompletedAfterId(
+            @Param("projectId") Long projectId,
+            @Param("completed") boolean completed,
+            @Param("afterId") long afterId,
+            Limit limit
+    );
+
+    // title >= :afterTitle bounds the index range, the OR breaks ties on id
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
+            "AND (:completed IS NULL OR t.completed = :completed) " +
+            "AND t.title >= :afterTitle " +
+            "AND (t.title > :afterTitle OR t.id > :afterId) " +
+            "ORDER BY t.title, t.id")
+    List<Task> findPageAfterTitle(
+            @Param("projectId") Long projectId,
+            @Param("completed") Boolean completed,
+            @Param("afterTitle") String afterTitle,
+            @Param("afterId") long afterId,
+            Limit limit
+    );
+
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
+            "AND (:completed IS NULL OR t.completed = :completed) " +
+            "AND LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "AND t.id > :afterId " +
+            "ORDER BY t.id")
+    List<Task> searchPageAfterId(
+            @Param("projectId") Long projectId,
+            @Param("completed") Boolean completed,
+            @Param("search") String search,
+            @Param("afterId") long afterId,
+            Limit limit
+    );
+
+    // Across every project of the owner, by due date. dueDate >= :afterDate bounds each
+    // per-project range scan on (project_id, due_date, id), the OR breaks ties on id
+    @Query("SELECT new com.hahn.projectmanager.dto.task.DueTaskResponse(" +
+            "t.id, p.id, p.title, t.title, t.dueDate, t.completed) " +
+            "FROM Task t JOIN t.project p WHERE p.owner.id = :ownerId " +
+            "AND (:completed IS NULL OR t.completed = :completed) " +
+            "AND t.dueDate >= :afterDate AND t.dueDate <= :to " +
+            "AND (t.dueDate > :afterDate OR t.id > :afterId) " +
+            "ORDER BY t.dueDate, t.id")
+    List<DueTaskResponse> findDuePageAfter(
+            @Param("ownerId") Long ownerId,
+            @Param("completed") Boolean completed,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            @Param("to") LocalDate to,
+            Limit limit
+    );
+}
@@ -0,0 +1,19 @@
+package com.hahn.projectmanager.repository;
+
+import com.hahn.projectmanager.entity.User;
+
+import java.util.List;
+import java.util.Set;
+
+public interface UserInsertRepository {
+
+    /** Insert unless the email is taken, decided by the insert itself. */
+    boolean insertIfAbsent(User user);
+
+    /**
+     * Insert every user whose email is not taken, in one statement.
+     *
+     * @return the emails that were inserted
+     */
+    Set<String> insertAllIfAbsent(List<User> users);
+}
@@ -0,0 +1,48 @@
+package com.hahn.projectmanager.repository;
+
+import com.hahn.projectmanager.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class UserInsertRepositoryImpl implements UserInsertRepository {
+
+    // One row per array element; the unique index on email settles conflicts, including
+    // between concurrent statements, so there is no lookup to race with. Plain JDBC:
+    // a new row invalidates nothing in the second-level cache
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO users (name, email, password)
+            SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[])
+            ON CONFLICT (email) DO NOTHING
+            RETURNING email
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    UserInsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean insertIfAbsent(User user) {
+        return !insertAllIfAbsent(List.of(user)).isEmpty();
+    }
+
+    @Override
+    public Set<String> insertAllIfAbsent(List<User> users) {
+        String[] names = new String[users.size()];
+        String[] emails = new String[users.size()];
+        String[] passwords = new String[users.size()];
+
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            names[i] = user.getName();
+            emails[i] = user.getEmail();
+            passwords[i] = user.getPassword();
+        }
+
+        return new HashSet<>(jdbcTemplate.queryForList(INSERT_IF_ABSENT, String.class, names, emails, passwords));
+    }
+}
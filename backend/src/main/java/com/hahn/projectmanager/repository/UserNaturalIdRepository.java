@@ -0,0 +1,11 @@
+package com.hahn.projectmanager.repository;
+
+import com.hahn.projectmanager.entity.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    /** Lookup by the email natural id, answered from the second-level cache when warm. */
+    Optional<User> findByNaturalEmail(String email);
+}
@@ -0,0 +1,15 @@
+package com.hahn.projectmanager.security;
+
+/**
+ * Minimal view of the caller that services need for ownership checks.
+ * Implemented both by the {@link com.hahn.projectmanager.entity.User} entity
+ * and by the claims-based {@link JwtUserPrincipal}.
+ */
+public interface AuthenticatedUser {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+}
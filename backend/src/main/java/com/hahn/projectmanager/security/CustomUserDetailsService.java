@@ -3,14 +3,16 @@ package com.hahn.projectmanager.security;
 import com.hahn.projectmanager.entity.User;
 import com.hahn.projectmanager.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -18,12 +20,30 @@ public class CustomUserDetailsService implements UserDetailsService {
         this.userRepository = userRepository;
     }
 
+    /**
+     * Read-write so a cache miss reads the primary: a replica may still hold
+     * the password hash or token version from before a change.
+     */
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
 
-        return userRepository.findByEmail(email)
+        return userRepository.findByNaturalEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
+    /**
+     * Stores the rehash made at login when the stored hash used another BCrypt cost.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByNaturalEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        entity.setPassword(newPassword);
+        return entity;
+    }
+
 }
@@ -0,0 +1,34 @@
+package com.hahn.projectmanager.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt that asks for a rehash whenever the stored cost differs from the
+ * configured one. The stock encoder only upgrades lower costs, so lowering
+ * app.security.bcrypt-strength would never reach existing hashes.
+ */
+public class ExactCostBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public ExactCostBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher cost = BCRYPT_COST.matcher(encodedPassword);
+        // Not a BCrypt hash: leave it to the parent, which rejects it
+        return cost.find() ? Integer.parseInt(cost.group(1)) != strength : super.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hahn.projectmanager.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -20,10 +21,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
-
-    public JwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsService userDetailsService) {
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            CustomUserDetailsService userDetailsService,
+            TokenVersionService tokenVersionService,
+            TokenRevocationService tokenRevocationService
+    ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -35,15 +45,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractAccessToken(request);
 
-        if (token == null || !jwtService.isTokenValid(token)) {
+        // Single parse: the verified claims are reused below
+        Claims claims = token == null ? null : jwtService.verify(token).orElse(null);
+
+        // Logged-out tokens are denied from memory, like version revocations
+        if (claims == null || tokenRevocationService.isRevoked(claims.getId())) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String email = jwtService.extractEmail(token);
+        UserDetails userDetails = resolveUser(claims);
 
-        UserDetails userDetails =
-                userDetailsService.loadUserByUsername(email);
+        if (userDetails == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         UsernamePasswordAuthenticationToken authentication =
                 new UsernamePasswordAuthenticationToken(
@@ -61,7 +77,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String extractAccessToken(HttpServletRequest request) {
+    /**
+     * Claims-based tokens are trusted as-is (subject to local revocations);
+     * older tokens without user claims fall back to a database lookup.
+     */
+    private UserDetails resolveUser(Claims claims) {
+        JwtUserPrincipal principal = jwtService.extractPrincipal(claims);
+
+        if (principal == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        return tokenVersionService.isCurrent(principal) ? principal : null;
+    }
+
+    static String extractAccessToken(HttpServletRequest request) {
         if (request.getCookies() == null) return null;
 
         for (Cookie cookie : request.getCookies()) {
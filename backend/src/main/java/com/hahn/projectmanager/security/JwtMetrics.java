@@ -0,0 +1,46 @@
+package com.hahn.projectmanager.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the {@link JwtService} verification counters: full signature checks
+ * as a timer and verified-token cache hits/misses/size.
+ */
+@Component
+public class JwtMetrics implements MeterBinder {
+
+    private final JwtService jwtService;
+
+    public JwtMetrics(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("jwt.verify", jwtService,
+                        s -> s.getVerificationStats().verifications(),
+                        s -> s.getVerificationStats().verificationNanos(),
+                        TimeUnit.NANOSECONDS)
+                .description("Full JWT signature verifications")
+                .register(registry);
+
+        FunctionCounter.builder("jwt.verify.cache", jwtService, s -> s.getVerificationStats().cacheHits())
+                .tag("result", "hit")
+                .register(registry);
+
+        FunctionCounter.builder("jwt.verify.cache", jwtService, s -> s.getVerificationStats().cacheMisses())
+                .tag("result", "miss")
+                .register(registry);
+
+        Gauge.builder("jwt.verify.cache.size", jwtService, s -> s.getVerificationStats().cacheSize())
+                .description("Verified tokens currently cached")
+                .register(registry);
+    }
+}
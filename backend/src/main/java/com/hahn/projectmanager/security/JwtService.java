@@ -1,72 +1,248 @@
 package com.hahn.projectmanager.security;
 
+import com.hahn.projectmanager.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class JwtService {
 
-    private final String secretKey;
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_NAME = "name";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+    // How often a full cache is swept for expired tokens
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private final Key signInKey;
+    private final JwtParser parser;
     private final long accessExpiration;
     private final long refreshExpiration;
+    private final boolean claimsPrincipalEnabled;
+
+    // Verified tokens keyed by SHA-256 digest, valid until the token's exp
+    private final int cacheMaxSize;
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt = new AtomicLong();
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
 
+    public JwtService(String secretKey, long accessExpiration, long refreshExpiration) {
+        this(secretKey, accessExpiration, refreshExpiration, true, DEFAULT_CACHE_SIZE);
+    }
+
+    @Autowired
     public JwtService(
             @Value("${jwt.secret}") String secretKey,
             @Value("${jwt.access.expiration}") long accessExpiration,
-            @Value("${jwt.refresh.expiration}") long refreshExpiration) {
-        this.secretKey = secretKey;
+            @Value("${jwt.refresh.expiration}") long refreshExpiration,
+            @Value("${jwt.claims-principal.enabled:true}") boolean claimsPrincipalEnabled,
+            @Value("${jwt.verified-cache.max-size:" + DEFAULT_CACHE_SIZE + "}") int cacheMaxSize) {
+        this.signInKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
         this.accessExpiration = accessExpiration;
         this.refreshExpiration = refreshExpiration;
-    }
-
-    private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.claimsPrincipalEnabled = claimsPrincipalEnabled;
+        this.cacheMaxSize = cacheMaxSize;
     }
 
     public String generateAccessToken(String email) {
-        return buildToken(email, accessExpiration);
+        return buildToken(email, Map.of(), accessExpiration);
     }
 
     public String generateRefreshToken(String email) {
-        return buildToken(email, refreshExpiration);
+        return buildToken(email, Map.of(), refreshExpiration);
+    }
+
+    /**
+     * Access token carrying the user id, name and token version so that
+     * authenticated requests can be served without loading the user.
+     */
+    public String generateAccessToken(User user) {
+        return buildToken(user.getEmail(), userClaims(user), accessExpiration);
+    }
+
+    public String generateRefreshToken(User user) {
+        return buildToken(user.getEmail(), userClaims(user), refreshExpiration);
+    }
+
+    private Map<String, Object> userClaims(User user) {
+        return Map.of(
+                CLAIM_USER_ID, user.getId(),
+                CLAIM_NAME, user.getName(),
+                CLAIM_TOKEN_VERSION, user.getTokenVersion()
+        );
     }
 
-    private String buildToken(String email, long expiration) {
+    private String buildToken(String email, Map<String, Object> claims, long expiration) {
         return Jwts.builder()
+                .addClaims(claims)
+                // Token id, so that a single token can be revoked
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verify the token once and return its claims, or empty if it is
+     * malformed, badly signed or expired.
+     */
+    public Optional<Claims> verify(String token) {
+        try {
+            return Optional.of(extractClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String extractTokenId(String token) {
+        return extractClaims(token).getId();
+    }
+
     public String extractEmail(String token) {
         return extractClaims(token).getSubject();
     }
 
+    /**
+     * Build a principal from the token claims, or {@code null} when the
+     * claims-based mode is disabled or the token predates it.
+     */
+    public JwtUserPrincipal extractPrincipal(String token) {
+        return extractPrincipal(extractClaims(token));
+    }
+
+    public JwtUserPrincipal extractPrincipal(Claims claims) {
+        if (!claimsPrincipalEnabled) {
+            return null;
+        }
+
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Number version = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        if (userId == null || version == null) {
+            return null;
+        }
+
+        return new JwtUserPrincipal(
+                userId.longValue(),
+                claims.get(CLAIM_NAME, String.class),
+                claims.getSubject(),
+                version.intValue()
+        );
+    }
+
+    /**
+     * @return the token version claim, 0 for tokens issued before it existed
+     */
+    public int extractTokenVersion(String token) {
+        Number version = extractClaims(token).get(CLAIM_TOKEN_VERSION, Number.class);
+        return version != null ? version.intValue() : 0;
+    }
+
     public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+
+    public JwtVerificationStats getVerificationStats() {
+        return new JwtVerificationStats(
+                cacheHits.sum(),
+                cacheMisses.sum(),
+                verifications.sum(),
+                verificationNanos.sum(),
+                verifiedTokens.size()
+        );
+    }
+
+    private Claims extractClaims(String token) {
+        if (cacheMaxSize <= 0) {
+            return parseAndTime(token);
+        }
+
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                cacheHits.increment();
+                return cached.claims();
+            }
+            verifiedTokens.remove(key, cached);
+        }
+
+        cacheMisses.increment();
+        Claims claims = parseAndTime(token);
+
+        if (claims.getExpiration() != null) {
+            cache(key, new VerifiedToken(claims, claims.getExpiration().getTime()), now);
+        }
+
+        return claims;
+    }
+
+    private Claims parseAndTime(String token) {
+        long start = System.nanoTime();
         try {
-            extractClaims(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            return parser.parseClaimsJws(token).getBody();
+        } finally {
+            verifications.increment();
+            verificationNanos.add(System.nanoTime() - start);
         }
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private void cache(String key, VerifiedToken token, long now) {
+        if (verifiedTokens.size() >= cacheMaxSize) {
+            // The sweep is O(n): one thread runs it, at most once per interval,
+            // and every other miss meanwhile just goes uncached
+            long sweepAt = nextSweepAt.get();
+            if (now < sweepAt || !nextSweepAt.compareAndSet(sweepAt, now + SWEEP_INTERVAL_MILLIS)) {
+                return;
+            }
+            verifiedTokens.values().removeIf(t -> t.expiresAt() <= now);
+        }
+        // Still full of live sessions: skip caching rather than grow unbounded
+        if (verifiedTokens.size() < cacheMaxSize) {
+            verifiedTokens.put(key, token);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+
+    private record VerifiedToken(Claims claims, long expiresAt) {}
+}
@@ -0,0 +1,84 @@
+package com.hahn.projectmanager.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lightweight principal built from verified access token claims.
+ * It is never backed by a database row, so it carries no password.
+ */
+public final class JwtUserPrincipal implements AuthenticatedUser, UserDetails {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final int tokenVersion;
+
+    public JwtUserPrincipal(Long id, String name, String email, int tokenVersion) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.tokenVersion = tokenVersion;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getEmail() {
+        return email;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    // UserDetails interface methods
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JwtUserPrincipal that = (JwtUserPrincipal) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "JwtUserPrincipal{" +
+                "id=" + id +
+                ", email='" + email + '\'' +
+                ", tokenVersion=" + tokenVersion +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package com.hahn.projectmanager.security;
+
+/**
+ * Snapshot of {@link JwtService} verification counters.
+ *
+ * @param cacheHits         tokens served from the verified-token cache
+ * @param cacheMisses       tokens that needed a full signature check
+ * @param verifications     full signature checks performed (successful or not)
+ * @param verificationNanos total time spent in full signature checks
+ * @param cacheSize         entries currently held by the cache
+ */
+public record JwtVerificationStats(
+        long cacheHits,
+        long cacheMisses,
+        long verifications,
+        long verificationNanos,
+        int cacheSize
+) {
+
+    public double hitRate() {
+        long lookups = cacheHits + cacheMisses;
+        return lookups == 0 ? 0.0 : (double) cacheHits / lookups;
+    }
+
+    public double averageVerificationMicros() {
+        return verifications == 0 ? 0.0 : verificationNanos / 1_000.0 / verifications;
+    }
+}
@@ -0,0 +1,157 @@
+package com.hahn.projectmanager.security;
+
+import com.hahn.projectmanager.entity.RevokedToken;
+import com.hahn.projectmanager.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revocation of single tokens by their {@code jti} claim, for logout.
+ * <p>
+ * Checks run on every authenticated request without I/O: a Bloom filter
+ * answers "not revoked" for almost every token in a few hashes, and only its
+ * "maybe" answers are confirmed against the exact denylist. Entries leave the
+ * denylist when the token would have expired anyway. Revocations are persisted
+ * and loaded back on startup; other instances learn about them on restart, as
+ * with {@link TokenVersionService}.
+ */
+@Service
+public class TokenRevocationService implements MeterBinder {
+
+    private final RevokedTokenRepository repository;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> denylist = new ConcurrentHashMap<>();
+    // Replaced, never cleared, when expired entries are purged
+    private volatile BloomFilter filter;
+
+    private final LongAdder filterMisses = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder revokedHits = new LongAdder();
+
+    public TokenRevocationService(
+            RevokedTokenRepository repository,
+            @Value("${app.revocation.expected-revocations:100000}") int expectedRevocations,
+            @Value("${app.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * Rebuild the structures from the table before the first request is served.
+     */
+    @PostConstruct
+    void load() {
+        for (RevokedToken token : repository.findActive(utc(System.currentTimeMillis()))) {
+            denylist.put(token.getJti(), token.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        rebuildFilter();
+    }
+
+    /**
+     * Check a token id (no I/O). Tokens without an id cannot be revoked one by one.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!filter.mightContain(jti)) {
+            filterMisses.increment();
+            return false;
+        }
+
+        Long expiresAt = denylist.get(jti);
+        if (expiresAt == null || expiresAt <= System.currentTimeMillis()) {
+            falsePositives.increment();
+            return false;
+        }
+        revokedHits.increment();
+        return true;
+    }
+
+    /**
+     * Revoke one token until its expiry. Expired tokens need no entry.
+     */
+    @Transactional
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        repository.insertIfAbsent(jti, utc(expiresAt.getTime()));
+
+        // Shares the lock with the rebuild, so no revocation lands in a filter
+        // that is about to be replaced without being copied
+        synchronized (this) {
+            denylist.put(jti, expiresAt.getTime());
+            filter.add(jti);
+        }
+    }
+
+    /**
+     * Drop expired revocations from memory and from the table, and rebuild the
+     * filter without them so its false positive rate stays where it was sized.
+     */
+    @Scheduled(fixedDelayString = "${app.revocation.purge-interval:PT10M}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        denylist.values().removeIf(expiresAt -> expiresAt <= now);
+        repository.deleteExpired(utc(now));
+        rebuildFilter();
+    }
+
+    public int getDenylistSize() {
+        return denylist.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.revocation.denylist.size", this, TokenRevocationService::getDenylistSize)
+                .description("Revoked tokens that have not expired yet")
+                .register(registry);
+
+        FunctionCounter.builder("auth.revocation.checks", filterMisses, LongAdder::sum)
+                .tag("result", "filter-miss")
+                .register(registry);
+
+        FunctionCounter.builder("auth.revocation.checks", falsePositives, LongAdder::sum)
+                .tag("result", "false-positive")
+                .register(registry);
+
+        FunctionCounter.builder("auth.revocation.checks", revokedHits, LongAdder::sum)
+                .tag("result", "revoked")
+                .register(registry);
+    }
+
+    // Helper methods
+    private synchronized void rebuildFilter() {
+        // Sized for twice the current entries when revocations outgrow the estimate
+        BloomFilter next = new BloomFilter(
+                Math.max(expectedRevocations, denylist.size() * 2), falsePositiveRate);
+        denylist.keySet().forEach(next::add);
+        filter = next;
+    }
+
+    private static LocalDateTime utc(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,74 @@
+package com.hahn.projectmanager.security;
+
+import com.hahn.projectmanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the token version of each user. Bumping the version revokes every
+ * token issued before it.
+ * <p>
+ * The request path never queries the database: access tokens are checked
+ * against an in-memory map of recent revocations, which only needs to keep an
+ * entry for as long as an access token can live. Refresh tokens are checked
+ * against the persisted version, so other instances pick up a revocation on
+ * the next refresh at the latest.
+ */
+@Service
+public class TokenVersionService {
+
+    private final UserRepository userRepository;
+    private final long accessExpiration;
+    private final Map<Long, Revocation> recentRevocations = new ConcurrentHashMap<>();
+
+    public TokenVersionService(
+            UserRepository userRepository,
+            @Value("${jwt.access.expiration}") long accessExpiration) {
+        this.userRepository = userRepository;
+        this.accessExpiration = accessExpiration;
+    }
+
+    /**
+     * Check an access token principal against local revocations (no I/O).
+     */
+    public boolean isCurrent(JwtUserPrincipal principal) {
+        Revocation revocation = recentRevocations.get(principal.getId());
+        if (revocation == null) {
+            return true;
+        }
+        if (revocation.expiresAt() < System.currentTimeMillis()) {
+            recentRevocations.remove(principal.getId(), revocation);
+            return true;
+        }
+        return principal.getTokenVersion() >= revocation.minimumVersion();
+    }
+
+    /**
+     * Check a token version against the persisted one (used on refresh).
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return userRepository.findTokenVersionById(userId)
+                .map(current -> tokenVersion >= current)
+                .orElse(false);
+    }
+
+    /**
+     * Revoke every token issued to the user so far.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        int current = userRepository.findTokenVersionById(userId).orElse(0);
+
+        recentRevocations.put(userId, new Revocation(
+                current,
+                System.currentTimeMillis() + accessExpiration
+        ));
+    }
+
+    private record Revocation(int minimumVersion, long expiresAt) {}
+}
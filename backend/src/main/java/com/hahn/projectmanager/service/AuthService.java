@@ -1,7 +1,12 @@
 package com.hahn.projectmanager.service;
 
 import com.hahn.projectmanager.dto.auth.LoginRequest;
+import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.repository.UserRepository;
 import com.hahn.projectmanager.security.JwtService;
+import com.hahn.projectmanager.security.JwtUserPrincipal;
+import com.hahn.projectmanager.security.TokenRevocationService;
+import com.hahn.projectmanager.security.TokenVersionService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,16 +14,29 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final UserRepository userRepository;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public AuthService(AuthenticationManager authenticationManager, JwtService jwtService) {
+    public AuthService(
+            AuthenticationManager authenticationManager,
+            JwtService jwtService,
+            UserRepository userRepository,
+            TokenVersionService tokenVersionService,
+            TokenRevocationService tokenRevocationService
+    ) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.tokenVersionService = tokenVersionService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     public void authenticate(LoginRequest request, HttpServletResponse response) {
@@ -31,12 +49,12 @@ public class AuthService {
                     )
             );
 
-            // Extract email from authenticated user
-            String email = authentication.getName();
+            // The DAO provider already loaded the user, reuse it for the claims
+            User user = (User) authentication.getPrincipal();
 
             // Generate tokens
-            String accessToken = jwtService.generateAccessToken(email);
-            String refreshToken = jwtService.generateRefreshToken(email);
+            String accessToken = jwtService.generateAccessToken(user);
+            String refreshToken = jwtService.generateRefreshToken(user);
 
             // Add cookies
             addCookie(response, "access_token", accessToken, 900); // 15 min
@@ -47,6 +65,56 @@ public class AuthService {
         }
     }
 
+    /**
+     * Issue a new access token from a valid refresh token.
+     * Returns false when the refresh token has been revoked.
+     * Read-write so the token version is read on the primary, never a lagging replica.
+     */
+    @Transactional
+    public boolean refresh(String refreshToken, HttpServletResponse response) {
+        if (tokenRevocationService.isRevoked(jwtService.extractTokenId(refreshToken))) {
+            return false;
+        }
+
+        JwtUserPrincipal principal = jwtService.extractPrincipal(refreshToken);
+
+        User user = principal != null
+                ? userRepository.findUncachedById(principal.getId()).orElse(null)
+                : userRepository.findUncachedByEmail(jwtService.extractEmail(refreshToken)).orElse(null);
+
+        if (user == null) {
+            return false;
+        }
+
+        // Tokens without a version claim count as version 0, so logout-all revokes them too
+        if (jwtService.extractTokenVersion(refreshToken) < user.getTokenVersion()) {
+            return false;
+        }
+
+        addCookie(response, "access_token", jwtService.generateAccessToken(user), 900);
+        return true;
+    }
+
+    /**
+     * Revoke the tokens of this session. Tokens that no longer verify
+     * (expired, tampered with) cannot be used anyway and are skipped.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        for (String token : new String[]{accessToken, refreshToken}) {
+            if (token != null) {
+                jwtService.verify(token).ifPresent(claims ->
+                        tokenRevocationService.revoke(claims.getId(), claims.getExpiration()));
+            }
+        }
+    }
+
+    /**
+     * Revoke every access and refresh token issued to the user.
+     */
+    public void logoutEverywhere(Long userId) {
+        tokenVersionService.revokeAll(userId);
+    }
+
     private void addCookie(HttpServletResponse response, String name, String value, int maxAge) {
         Cookie cookie = new Cookie(name, value);
         cookie.setHttpOnly(true);
@@ -0,0 +1,333 @@
+package com.hahn.projectmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.exception.ProjectNotFoundException;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent change stream per user, optionally narrowed to one project.
+ *
+ * Events are taken after the mutating transaction commits and serialized once.
+ * Each subscriber has a small bounded queue, drained by a virtual thread of its
+ * own while it holds events, so a send stuck on one client's full socket holds
+ * up nobody else and idle connections hold no thread. A subscriber whose queue overflows is
+ * disconnected and catches up on reconnect: the last events of every user are
+ * kept for replay after Last-Event-ID, and a "reset" event tells the client to
+ * reload when the gap can no longer be replayed.
+ */
+@Service
+public class ChangeStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamService.class);
+
+    private final ProjectRepository projectRepository;
+    private final ObjectMapper objectMapper;
+    private final int replaySize;
+    private final int queueSize;
+    private final long timeoutMillis;
+    private final long retentionNanos;
+    private final ExecutorService dispatcher;
+
+    // Sequence numbers restart with the process: the epoch prefix of every
+    // event id lets a resuming client be told to reload instead
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, UserStream> streams = new ConcurrentHashMap<>();
+
+    public ChangeStreamService(
+            ProjectRepository projectRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.change-stream.replay-size:256}") int replaySize,
+            @Value("${app.change-stream.subscriber-queue-size:64}") int queueSize,
+            @Value("${app.change-stream.timeout:PT30M}") Duration timeout,
+            @Value("${app.change-stream.retention:PT5M}") Duration retention
+    ) {
+        this.projectRepository = projectRepository;
+        this.objectMapper = objectMapper;
+        this.replaySize = replaySize;
+        this.queueSize = queueSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.retentionNanos = retention.toNanos();
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-stream-", 0).factory());
+    }
+
+    /**
+     * Open a stream of the user's changes, or of one project's changes.
+     * With a Last-Event-ID, missed events are replayed first.
+     */
+    public SseEmitter subscribe(Long projectId, String lastEventId, AuthenticatedUser user) {
+        if (projectId != null) {
+            findProjectAndCheckOwnership(projectId, user);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(user.getId(), projectId, lastEventId, emitter);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        UserStream stream = streams.get(event.userId());
+        if (stream == null) {
+            // Nobody is listening or could resume
+            return;
+        }
+
+        try {
+            stream.publish(event.change().projectId(), objectMapper.writeValueAsString(event.change()));
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize change event {}", event.change(), ex);
+        }
+    }
+
+    /**
+     * Keeps idle connections (and proxies in between) alive, detects dead clients
+     * and forgets the replay buffers of users that stayed away past the retention.
+     */
+    @Scheduled(fixedDelayString = "${app.change-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long cutoff = System.nanoTime() - retentionNanos;
+
+        for (Long userId : streams.keySet()) {
+            // Atomic per user with the compute in register
+            streams.computeIfPresent(userId, (id, stream) -> stream.idleSince(cutoff) ? null : stream);
+        }
+
+        for (UserStream stream : streams.values()) {
+            for (Subscriber subscriber : stream.subscribers()) {
+                subscriber.enqueue(SseEmitter.event().comment("heartbeat"), true);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (UserStream stream : streams.values()) {
+            for (Subscriber subscriber : stream.subscribers()) {
+                subscriber.emitter.complete();
+            }
+        }
+        dispatcher.shutdownNow();
+    }
+
+    // Helper methods
+    void register(Long userId, Long projectId, String lastEventId, SseEmitter emitter) {
+        UserStream stream = streams.compute(userId, (id, existing) -> {
+            UserStream current = existing != null ? existing : new UserStream();
+            current.touch();
+            return current;
+        });
+        Subscriber subscriber = new Subscriber(emitter, projectId);
+
+        emitter.onCompletion(() -> stream.remove(subscriber));
+        emitter.onError(ex -> stream.remove(subscriber));
+        // The client reconnects with its Last-Event-ID
+        emitter.onTimeout(emitter::complete);
+
+        stream.add(subscriber, lastEventId);
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    /**
+     * @return the sequence number in the event id, or -1 when it is not from this process
+     */
+    private long parseEventId(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private void findProjectAndCheckOwnership(Long projectId, AuthenticatedUser user) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ProjectNotFoundException(projectId));
+
+        if (!project.getOwner().getId().equals(user.getId())) {
+            throw new AccessDeniedException("You don't have permission to access this project");
+        }
+    }
+
+    private record BufferedEvent(long seq, Long projectId, String json) {}
+
+    /**
+     * Replay buffer and subscribers of one user. Publishing and subscribing
+     * share its lock, so a new subscriber sees every event exactly once.
+     */
+    private final class UserStream {
+
+        private final ArrayDeque<BufferedEvent> replay = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        // Newest sequence number that can no longer be replayed
+        private long evictedUpTo = sequence.get();
+        private long lastActive = System.nanoTime();
+
+        synchronized void publish(Long projectId, String json) {
+            BufferedEvent event = new BufferedEvent(sequence.incrementAndGet(), projectId, json);
+
+            if (replay.size() >= replaySize) {
+                evictedUpTo = replay.removeFirst().seq();
+            }
+            replay.addLast(event);
+
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+
+        synchronized void add(Subscriber subscriber, String lastEventId) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                long after = parseEventId(lastEventId.trim());
+
+                if (after < evictedUpTo) {
+                    subscriber.enqueue(SseEmitter.event().name("reset").data("{}"), true);
+                } else {
+                    for (BufferedEvent event : replay) {
+                        if (event.seq() > after && subscriber.accepts(event)) {
+                            subscriber.enqueue(subscriber.toSse(event), true);
+                        }
+                    }
+                }
+            }
+
+            // Gives the client a position to resume from even before its first change
+            long position = replay.isEmpty() ? evictedUpTo : replay.getLast().seq();
+            subscriber.enqueue(SseEmitter.event().id(eventId(position)).name("ready").data("{}"), true);
+
+            subscribers.add(subscriber);
+        }
+
+        synchronized void touch() {
+            lastActive = System.nanoTime();
+        }
+
+        synchronized void remove(Subscriber subscriber) {
+            subscriber.close();
+            subscribers.remove(subscriber);
+            lastActive = System.nanoTime();
+        }
+
+        synchronized List<Subscriber> subscribers() {
+            return List.copyOf(subscribers);
+        }
+
+        synchronized boolean idleSince(long cutoff) {
+            return subscribers.isEmpty() && lastActive - cutoff < 0;
+        }
+    }
+
+    /**
+     * One open stream. Events wait in a bounded queue; at most one dispatcher
+     * thread drains it at a time, so sends on an emitter never interleave.
+     * A send blocked on the socket ends with the container's write timeout.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long projectId;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter, Long projectId) {
+            this.emitter = emitter;
+            this.projectId = projectId;
+        }
+
+        boolean accepts(BufferedEvent event) {
+            return projectId == null || projectId.equals(event.projectId());
+        }
+
+        SseEmitter.SseEventBuilder toSse(BufferedEvent event) {
+            return SseEmitter.event().id(eventId(event.seq())).name("change").data(event.json());
+        }
+
+        void offer(BufferedEvent event) {
+            if (accepts(event)) {
+                enqueue(toSse(event), false);
+            }
+        }
+
+        /**
+         * @param unbounded replay and control events, which are bounded by the replay buffer
+         */
+        synchronized void enqueue(SseEmitter.SseEventBuilder event, boolean unbounded) {
+            if (closed) {
+                return;
+            }
+
+            if (!unbounded && pending.size() >= queueSize) {
+                // Slow consumer: drop it rather than buffer without limit; it resumes
+                // from its Last-Event-ID. Completing waits for a send stuck on the
+                // socket, so the publisher does not do it
+                closed = true;
+                pending.clear();
+                Thread.ofVirtual().name("change-stream-close").start(emitter::complete);
+                return;
+            }
+
+            pending.addLast(event);
+            if (!draining) {
+                draining = true;
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            pending.clear();
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = pending.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException ex) {
+                    // Client gone or emitter already completed: the container
+                    // reports the error and onError/onCompletion unregister us
+                    close();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.dto.dashboard.DashboardResponse;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Projects page in one query instead of a list plus one progress call per project.
+ * <p>
+ * Results are kept per user for a short TTL and dropped as soon as one of the
+ * user's changes commits on this instance; other instances serve at most one
+ * TTL of staleness. A change leaves a marker with its sequence number, so a
+ * read that started before it cannot put its older result back afterwards.
+ */
+@Service
+public class DashboardService {
+
+    private final ProjectRepository projectRepository;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<Long, CachedDashboard> cache = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+
+    public DashboardService(
+            ProjectRepository projectRepository,
+            @Value("${app.dashboard.cache-ttl:PT30S}") Duration ttl,
+            @Value("${app.dashboard.cache-max-size:10000}") int maxSize
+    ) {
+        this.projectRepository = projectRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Read-write so the query runs on the primary: the result is cached, and a
+     * lagging replica's snapshot would be cached with it.
+     */
+    @Transactional
+    public DashboardResponse getDashboard(AuthenticatedUser user) {
+        LocalDate today = LocalDate.now();
+        long now = System.nanoTime();
+
+        CachedDashboard cached = cache.get(user.getId());
+        // A new day moves tasks into overdue even without changes
+        if (cached != null && cached.dashboard() != null
+                && cached.expiresAt() - now > 0 && cached.day().equals(today)) {
+            return cached.dashboard();
+        }
+
+        // Taken before the query: any change committed after this bumps past it
+        long readAt = changes.get();
+        DashboardResponse dashboard = DashboardResponse.of(projectRepository.findDashboard(
+                user.getId(), today, today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))));
+
+        if (ttlNanos > 0) {
+            cache(user.getId(), new CachedDashboard(dashboard, today, now + ttlNanos, readAt), now);
+        }
+        return dashboard;
+    }
+
+    @TransactionalEventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        sweepIfFull(now);
+        // Put even when full: the marker expires after a TTL, longer than any read still in flight
+        cache.put(event.userId(), new CachedDashboard(null, null, now + ttlNanos, changes.incrementAndGet()));
+    }
+
+    // Helper methods
+    private void cache(Long userId, CachedDashboard dashboard, long now) {
+        sweepIfFull(now);
+        // Still full of fresh entries: skip caching rather than grow unbounded
+        if (cache.size() < maxSize) {
+            cache.compute(userId, (id, existing) ->
+                    existing != null && existing.sequence() > dashboard.sequence() ? existing : dashboard);
+        }
+    }
+
+    private void sweepIfFull(long now) {
+        if (cache.size() >= maxSize) {
+            cache.values().removeIf(d -> d.expiresAt() - now <= 0);
+        }
+    }
+
+    /**
+     * @param dashboard null for the marker a change leaves
+     * @param sequence  changes counter when the dashboard was read, or of the change
+     */
+    private record CachedDashboard(DashboardResponse dashboard, LocalDate day, long expiresAt, long sequence) {}
+}
@@ -0,0 +1,159 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.entity.Task;
+import com.hahn.projectmanager.exception.PreconditionFailedException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Strong ETags derived from version columns, so they can be computed
+ * (and If-None-Match answered) without loading or serializing entities.
+ */
+public final class ETags {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    // What the message converters can write, in converter order (JSON first)
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    private ETags() {
+    }
+
+    /**
+     * A representation together with the ETag of the version it was mapped from.
+     */
+    public record Tagged<T>(T body, String etag) {
+    }
+
+    /** A project representation also carries its task counters. */
+    public static String project(long version, long tasksVersion) {
+        return "\"p" + version + "." + tasksVersion + "\"";
+    }
+
+    public static String project(Project project) {
+        return project(project.getVersion(), project.getTasksVersion());
+    }
+
+    public static String task(long version) {
+        return "\"t" + version + "\"";
+    }
+
+    public static String task(Task task) {
+        return task(task.getVersion());
+    }
+
+    /**
+     * ETag of a list: a digest of the data fingerprint and the query that produced the list.
+     */
+    public static String collection(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+            key.append(part).append('|');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * A strong ETag promises identical bytes, so binary representations
+     * get their own tag (the JSON one is unchanged). Pair with Vary: Accept.
+     */
+    public static String forAccept(String etag, String accept) {
+        if (etag == null || accept == null) {
+            return etag;
+        }
+
+        MediaType format = negotiate(accept);
+        if (format == null || format.equals(MediaType.APPLICATION_JSON)) {
+            return etag;
+        }
+
+        String suffix = format.equals(MediaType.APPLICATION_CBOR) ? "cbor" : "smile";
+        return etag.substring(0, etag.length() - 1) + "+" + suffix + "\"";
+    }
+
+    /**
+     * The format Spring MVC writes for this Accept header: the one a compatible
+     * range gives the highest quality, ties going to converter order.
+     * Null when none is acceptable, and the request ends in a 406 anyway.
+     */
+    static MediaType negotiate(String accept) {
+        List<MediaType> ranges;
+        try {
+            ranges = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+
+        MediaType best = null;
+        double bestQuality = 0;
+        for (MediaType format : FORMATS) {
+            for (MediaType range : ranges) {
+                if (range.isCompatibleWith(format) && range.getQualityValue() > bestQuality) {
+                    best = format;
+                    bestQuality = range.getQualityValue();
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Whether an If-None-Match header lists the current tag, by weak comparison
+     * (absent header: no). Unlike WebRequest.checkNotModified it leaves the
+     * response alone, so a miss can still be answered with a newer tag.
+     */
+    public static boolean matchesNoneMatch(String ifNoneMatch, String current) {
+        if (ifNoneMatch == null || current == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(current)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Enforce an If-Match precondition (absent header: no precondition).
+     * Uses strong comparison, so weak validators never match. A tag echoed
+     * from a binary representation names the same version, so its format
+     * suffix is ignored.
+     */
+    public static void checkIfMatch(String ifMatch, String current) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || withoutFormat(value).equals(current)) {
+                return;
+            }
+        }
+
+        throw new PreconditionFailedException();
+    }
+
+    // Helper methods
+    /** Undoes forAccept: the tag of the JSON representation of the same version. */
+    private static String withoutFormat(String etag) {
+        for (String suffix : List.of("+cbor\"", "+smile\"")) {
+            if (etag.endsWith(suffix) && !etag.startsWith("W/")) {
+                return etag.substring(0, etag.length() - suffix.length()) + "\"";
+            }
+        }
+        return etag;
+    }
+}
@@ -0,0 +1,9 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+
+/**
+ * Published by the services inside the mutating transaction; the change
+ * stream only picks it up once that transaction has committed.
+ */
+public record EntityChangedEvent(Long userId, ChangeEvent change) {}
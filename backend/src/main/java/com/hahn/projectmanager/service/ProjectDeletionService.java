@@ -0,0 +1,229 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+import com.hahn.projectmanager.dto.event.ChangeType;
+import com.hahn.projectmanager.dto.project.ProjectDeletionState;
+import com.hahn.projectmanager.dto.project.ProjectDeletionStatus;
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.exception.ProjectBeingDeletedException;
+import com.hahn.projectmanager.exception.ProjectNotFoundException;
+import com.hahn.projectmanager.exception.ResourceNotFoundException;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes projects with set-based statements instead of loading every task
+ * through the JPA cascade. Tasks go in chunks, each in its own short transaction
+ * that also takes them off the project's counters, so no lock is held for the
+ * whole project; the project row goes last, together with the change event.
+ *
+ * Large projects can be deleted in the background, and always are above the
+ * async threshold: the status stays readable until the retention after it ends.
+ * While a deletion runs, no tasks can be added to the project; the last
+ * transaction locks the project row and sweeps any that slipped in before.
+ * A deletion cut short by a failure or a restart leaves the project with
+ * fewer tasks, and deleting it again resumes.
+ */
+@Service
+public class ProjectDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectDeletionService.class);
+
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long retentionNanos;
+    private final long asyncThreshold;
+    private final ExecutorService executor;
+
+    private final Map<Long, Deletion> deletions = new ConcurrentHashMap<>();
+
+    public ProjectDeletionService(
+            ProjectRepository projectRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.project-deletion.chunk-size:5000}") int chunkSize,
+            @Value("${app.project-deletion.retention:PT1H}") Duration retention,
+            @Value("${app.project-deletion.threads:1}") int threads,
+            @Value("${app.project-deletion.async-threshold:50000}") long asyncThreshold
+    ) {
+        this.projectRepository = projectRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.retentionNanos = retention.toNanos();
+        this.asyncThreshold = asyncThreshold;
+        this.executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("project-deletion-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Delete a project and its tasks.
+     *
+     * @param async return right away and purge in the background,
+     *              implied for projects with more tasks than the async threshold
+     * @return COMPLETED when the project is gone, otherwise the running deletion,
+     *         which may have been started by an earlier request
+     */
+    public ProjectDeletionStatus deleteProject(Long id, String ifMatch, boolean async, AuthenticatedUser user) {
+        Project project = findProjectAndCheckOwnership(id, user);
+        ETags.checkIfMatch(ifMatch, ETags.project(project));
+
+        Deletion started = new Deletion(id, user.getId(), project.getTotalTasks());
+        Deletion deletion = deletions.compute(id, (key, existing) ->
+                existing != null && existing.state == ProjectDeletionState.RUNNING ? existing : started);
+
+        if (deletion != started) {
+            return deletion.toStatus();
+        }
+
+        // Keeps request threads from running hundreds of chunks
+        if (async || project.getTotalTasks() > asyncThreshold) {
+            executor.execute(() -> run(deletion));
+        } else {
+            run(deletion);
+            if (deletion.state == ProjectDeletionState.FAILED) {
+                throw deletion.failure;
+            }
+        }
+        return deletion.toStatus();
+    }
+
+    /**
+     * Progress of the project's deletion, while it runs and for the retention after.
+     */
+    public ProjectDeletionStatus getDeletionStatus(Long id, AuthenticatedUser user) {
+        Deletion deletion = deletions.get(id);
+        if (deletion == null) {
+            throw new ResourceNotFoundException("No deletion found for project " + id);
+        }
+
+        if (!deletion.userId.equals(user.getId())) {
+            throw new AccessDeniedException("You don't have permission to access this project");
+        }
+
+        return deletion.toStatus();
+    }
+
+    /**
+     * Refuse new tasks for a project whose deletion is running.
+     */
+    public void checkNotDeleting(Long projectId) {
+        Deletion deletion = deletions.get(projectId);
+        if (deletion != null && deletion.state == ProjectDeletionState.RUNNING) {
+            throw new ProjectBeingDeletedException(projectId);
+        }
+    }
+
+    /**
+     * Forgets deletions that ended more than the retention ago.
+     */
+    @Scheduled(fixedDelayString = "${app.project-deletion.cleanup-ms:600000}")
+    public void purgeFinished() {
+        long cutoff = System.nanoTime() - retentionNanos;
+        deletions.values().removeIf(deletion -> deletion.endedBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Helper methods
+    private void run(Deletion deletion) {
+        try {
+            deleteTasks(deletion);
+
+            // After-commit listeners only see the event if it is published inside the transaction
+            transactionTemplate.executeWithoutResult(status -> {
+                // Waits for transactions still adding tasks and holds off new ones, so the
+                // sweep leaves nothing for the cascade that would go uncounted
+                projectRepository.lockProjectRow(deletion.projectId);
+                deleteTasks(deletion);
+                projectRepository.deleteProjectRow(deletion.projectId);
+                eventPublisher.publishEvent(new EntityChangedEvent(deletion.userId,
+                        new ChangeEvent(ChangeType.PROJECT_DELETED, deletion.projectId, null)));
+            });
+            deletion.end(ProjectDeletionState.COMPLETED, null);
+        } catch (RuntimeException ex) {
+            log.warn("Deletion of project {} failed after {} tasks", deletion.projectId, deletion.deletedTasks.get(), ex);
+            deletion.end(ProjectDeletionState.FAILED, ex);
+        }
+    }
+
+    private void deleteTasks(Deletion deletion) {
+        int deleted;
+        while ((deleted = projectRepository.deleteTaskChunk(deletion.projectId, chunkSize)) > 0) {
+            deletion.deletedTasks.addAndGet(deleted);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Deletion of project " + deletion.projectId + " interrupted");
+            }
+        }
+    }
+
+    private Project findProjectAndCheckOwnership(Long id, AuthenticatedUser user) {
+        Project project = projectRepository.findById(id)
+                .orElseThrow(() -> new ProjectNotFoundException(id));
+
+        if (!project.getOwner().getId().equals(user.getId())) {
+            throw new AccessDeniedException("You don't have permission to access this project");
+        }
+
+        return project;
+    }
+
+    private static final class Deletion {
+
+        private final Long projectId;
+        private final Long userId;
+        private final long totalTasks;
+        private final AtomicLong deletedTasks = new AtomicLong();
+        private volatile ProjectDeletionState state = ProjectDeletionState.RUNNING;
+        private volatile RuntimeException failure;
+        private volatile long endedAt;
+
+        Deletion(Long projectId, Long userId, long totalTasks) {
+            this.projectId = projectId;
+            this.userId = userId;
+            this.totalTasks = totalTasks;
+        }
+
+        void end(ProjectDeletionState state, RuntimeException failure) {
+            this.failure = failure;
+            this.endedAt = System.nanoTime();
+            this.state = state;
+        }
+
+        boolean endedBefore(long cutoff) {
+            return state != ProjectDeletionState.RUNNING && endedAt - cutoff < 0;
+        }
+
+        ProjectDeletionStatus toStatus() {
+            ProjectDeletionState current = state;
+            long deleted = deletedTasks.get();
+            int progress = current == ProjectDeletionState.COMPLETED ? 100
+                    : totalTasks == 0 ? 0
+                    : (int) Math.min(99, deleted * 100 / totalTasks);
+
+            return new ProjectDeletionStatus(projectId, current, totalTasks, deleted, progress);
+        }
+    }
+}
@@ -1,66 +1,64 @@
 package com.hahn.projectmanager.service;
 
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+import com.hahn.projectmanager.dto.event.ChangeType;
 import com.hahn.projectmanager.dto.page.PaginatedResponse;
 import com.hahn.projectmanager.dto.project.*;
 import com.hahn.projectmanager.entity.Project;
-import com.hahn.projectmanager.entity.User;
 import com.hahn.projectmanager.exception.ProjectNotFoundException;
 import com.hahn.projectmanager.repository.ProjectRepository;
-import com.hahn.projectmanager.repository.TaskRepository;
+import com.hahn.projectmanager.repository.UserRepository;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
-    private final TaskRepository taskRepository;
-
-    public ProjectService(ProjectRepository projectRepository, TaskRepository taskRepository) {
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProjectService(
+            ProjectRepository projectRepository,
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.projectRepository = projectRepository;
-        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public ProjectResponse createProject(CreateProjectRequest request, User user) {
+    public ProjectResponse createProject(CreateProjectRequest request, AuthenticatedUser user) {
         Project project = Project.builder()
                 .title(request.title())
                 .description(request.description())
-                .owner(user)
+                // Reference only: the owner row is not loaded to create a project
+                .owner(userRepository.getReferenceById(user.getId()))
                 .build();
 
         projectRepository.save(project);
+        publish(user, ChangeType.PROJECT_CREATED, project.getId());
 
-        ProjectTaskCount count = new ProjectTaskCount() {
-            @Override
-            public Long getProjectId() { return project.getId(); }
-            @Override
-            public Long getTotalTasks() { return 0L; }
-            @Override
-            public Long getCompletedTasks() { return 0L; }
-        };
-
-        return mapToResponse(project, count);
+        return mapToResponse(project);
     }
 
 
-    public PaginatedResponse<ProjectResponse> getUserProjects(User user, Pageable pageable) {
-        Page<Project> projectsPage = projectRepository.findByOwnerWithOwner(user, pageable);
-
-        List<ProjectTaskCount> counts = projectRepository.findTaskCountsByOwner(user);
-        Map<Long, ProjectTaskCount> countsMap = counts.stream()
-                .collect(Collectors.toMap(ProjectTaskCount::getProjectId, c -> c));
+    public PaginatedResponse<ProjectResponse> getUserProjects(AuthenticatedUser user, Pageable pageable) {
+        Page<Project> projectsPage = projectRepository.findByOwnerId(user.getId(), pageable);
 
+        // Task counters live on the project row, no aggregate query needed
         List<ProjectResponse> responses = projectsPage.stream()
-                .map(p -> mapToResponse(p, countsMap.get(p.getId())))
+                .map(this::mapToResponse)
                 .toList();
 
         return new PaginatedResponse<>(
@@ -74,54 +72,95 @@ public class ProjectService {
 
 
 
-    public ProjectResponse getProjectById(Long id, User user) {
+    public ProjectResponse getProjectById(Long id, AuthenticatedUser user) {
         Project project = findProjectAndCheckOwnership(id, user);
 
-        ProjectTaskCount count = projectRepository.findTaskCountByProjectId(id);
-
-        return mapToResponse(project, count);
+        return mapToResponse(project);
     }
 
+    /**
+     * A page of the owner's projects with the ETag of the data it was read from.
+     * One snapshot, and so one replica, serves both queries.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ETags.Tagged<PaginatedResponse<ProjectResponse>> getTaggedUserProjects(
+            AuthenticatedUser user,
+            Pageable pageable
+    ) {
+        String etag = getProjectsEtag(user, pageable);
+        return new ETags.Tagged<>(getUserProjects(user, pageable), etag);
+    }
 
-    @Transactional
-    public ProjectResponse updateProject(Long id, UpdateProjectRequest request, User user) {
+    /**
+     * The project with the ETag of the very version that was mapped, from the same read.
+     */
+    public ETags.Tagged<ProjectResponse> getTaggedProject(Long id, AuthenticatedUser user) {
         Project project = findProjectAndCheckOwnership(id, user);
 
-        project.setTitle(request.title());
-        project.setDescription(request.description());
+        return new ETags.Tagged<>(mapToResponse(project), ETags.project(project));
+    }
 
-        projectRepository.save(project);
 
-        // Fetch task counts for this project in a single query
-        ProjectTaskCount count = projectRepository.findTaskCountByProjectId(id);
+    /**
+     * ETag of the owner's project list, from one aggregate over the version columns.
+     */
+    public String getProjectsEtag(AuthenticatedUser user, Pageable pageable) {
+        ProjectCollectionVersion version = projectRepository.findCollectionVersion(user.getId());
 
-        return mapToResponse(project, count);
+        return ETags.collection("projects", user.getId(),
+                version.count(), version.idSum(), version.versionSum(), pageable);
     }
 
+    /**
+     * @return the project's ETag, or null when it does not exist or belongs to someone else
+     */
+    public String getProjectEtag(Long id, AuthenticatedUser user) {
+        return projectRepository.findVersion(id, user.getId())
+                .map(version -> ETags.project(version.version(), version.tasksVersion()))
+                .orElse(null);
+    }
 
     @Transactional
-    public void deleteProject(Long id, User user) {
+    public ProjectResponse updateProject(
+            Long id,
+            UpdateProjectRequest request,
+            String ifMatch,
+            AuthenticatedUser user
+    ) {
         Project project = findProjectAndCheckOwnership(id, user);
-        projectRepository.delete(project);
+        ETags.checkIfMatch(ifMatch, ETags.project(project));
+
+        project.setTitle(request.title());
+        project.setDescription(request.description());
+
+        projectRepository.save(project);
+        publish(user, ChangeType.PROJECT_UPDATED, id);
+
+        return mapToResponse(project);
     }
 
-    public ProjectProgressResponse getProjectProgress(Long id, User user) {
+
+    public ProjectProgressResponse getProjectProgress(Long id, AuthenticatedUser user) {
         Project project = findProjectAndCheckOwnership(id, user);
 
-        long total = taskRepository.countByProject(project);
-        long completed = taskRepository.countByProjectAndCompletedTrue(project);
-        int progress = total == 0 ? 0 : (int) ((completed * 100) / total);
+        int total = project.getTotalTasks();
+        int completed = project.getCompletedTasks();
+        int progress = total == 0 ? 0 : (completed * 100) / total;
 
         return new ProjectProgressResponse(
                 project.getId(),
-                (int) total,
-                (int) completed,
+                total,
+                completed,
                 progress
         );
     }
 
     // Helper methods
-    private Project findProjectAndCheckOwnership(Long id, User user) {
+    private void publish(AuthenticatedUser user, ChangeType type, Long projectId) {
+        eventPublisher.publishEvent(new EntityChangedEvent(user.getId(), new ChangeEvent(type, projectId, null)));
+    }
+
+    private Project findProjectAndCheckOwnership(Long id, AuthenticatedUser user) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ProjectNotFoundException(id));
 
@@ -132,9 +171,9 @@ public class ProjectService {
         return project;
     }
 
-    private ProjectResponse mapToResponse(Project project, ProjectTaskCount count) {
-        int total = count != null ? count.getTotalTasks().intValue() : 0;
-        int completed = count != null ? count.getCompletedTasks().intValue() : 0;
+    ProjectResponse mapToResponse(Project project) {
+        int total = project.getTotalTasks();
+        int completed = project.getCompletedTasks();
         int progress = total == 0 ? 0 : (completed * 100) / total;
 
         return new ProjectResponse(
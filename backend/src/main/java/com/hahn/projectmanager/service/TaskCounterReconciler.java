@@ -0,0 +1,71 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Detects and repairs drift between the task counters stored on projects
+ * and the actual tasks (e.g. after manual SQL or a restored backup).
+ * Projects are processed in id ranges, each in its own short transaction.
+ *
+ * Each range is locked before it is counted. An UPDATE counts from the snapshot
+ * its statement started with: a task committed while it waited on a row lock
+ * would be missing from the count, and the repair would write drift back.
+ */
+@Component
+public class TaskCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterReconciler.class);
+
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TaskCounterReconciler(
+            ProjectRepository projectRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.task-counters.reconcile-chunk-size:500}") int chunkSize
+    ) {
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.task-counters.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * @return number of projects whose counters were repaired
+     */
+    public int reconcile() {
+        long maxId = projectRepository.findMaxId();
+        int repaired = 0;
+
+        for (long fromId = 0; fromId < maxId; fromId += chunkSize) {
+            repaired += reconcileChunk(fromId, fromId + chunkSize);
+        }
+
+        if (repaired > 0) {
+            log.warn("Repaired task counters of {} project(s)", repaired);
+        }
+        return repaired;
+    }
+
+    // Helper methods
+    private int reconcileChunk(long fromId, long toId) {
+        Integer repaired = transactionTemplate.execute(status -> {
+            // Waits for writers of these projects; the UPDATE after it counts with a newer snapshot
+            projectRepository.lockIdRange(fromId, toId);
+            return projectRepository.reconcileTaskCounters(fromId, toId);
+        });
+        return repaired != null ? repaired : 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.entity.Task;
+import com.hahn.projectmanager.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for task listing: the sort key of the last row
+ * returned plus its id as a tie-breaker, encoded as base64url.
+ */
+public record TaskCursor(SortKey sortKey, String value, long id) {
+
+    public enum SortKey {
+        ID, TITLE,
+        // Only for the due-date listing across projects, not a sort of the project listing
+        DUE_DATE;
+
+        static SortKey parse(String sort) {
+            // Accept the same "field,direction" form as Pageable's sort param
+            String field = sort == null ? "id" : sort.split(",")[0].trim();
+            return switch (field) {
+                case "", "id" -> ID;
+                case "title" -> TITLE;
+                default -> throw new InvalidCursorException();
+            };
+        }
+    }
+
+    /**
+     * Position before the first row for the given sort key.
+     */
+    public static TaskCursor first(SortKey sortKey) {
+        return new TaskCursor(sortKey, "", 0L);
+    }
+
+    public static TaskCursor after(SortKey sortKey, Task task) {
+        String value = sortKey == SortKey.TITLE ? task.getTitle() : "";
+        return new TaskCursor(sortKey, value, task.getId());
+    }
+
+    /**
+     * Decode a cursor, or start from the beginning when it is blank.
+     */
+    public static TaskCursor decode(String cursor, String sort) {
+        return decode(cursor, SortKey.parse(sort));
+    }
+
+    public static TaskCursor decode(String cursor, SortKey sortKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return first(sortKey);
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+
+            TaskCursor decoded = new TaskCursor(
+                    SortKey.valueOf(parts[0]),
+                    parts[2],
+                    Long.parseLong(parts[1])
+            );
+
+            // A cursor is only meaningful for the ordering it was issued for
+            if (decoded.sortKey() != sortKey) {
+                throw new InvalidCursorException();
+            }
+            return decoded;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + ":" + id + ":" + value;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
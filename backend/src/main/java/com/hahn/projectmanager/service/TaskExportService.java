@@ -0,0 +1,170 @@
+package com.hahn.projectmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.projectmanager.dto.task.TaskDataFormat;
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.exception.ProjectNotFoundException;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Export of every task of a project as NDJSON or CSV.
+ * Rows are read through a forward-only cursor (fetch size > 0 inside a transaction
+ * makes PgJDBC fetch in chunks) and written straight to the response, so neither
+ * entities nor the whole response are ever held in memory.
+ */
+@Service
+public class TaskExportService {
+
+    private static final String EXPORT_SQL =
+            "SELECT id, title, description, due_date, completed FROM tasks WHERE project_id = ? ORDER BY id";
+
+    private final ProjectRepository projectRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TaskExportService(
+            ProjectRepository projectRepository,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.task-export.fetch-size:1000}") int fetchSize
+    ) {
+        this.projectRepository = projectRepository;
+        this.objectMapper = objectMapper;
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Check ownership up front, then return a body that streams the tasks when written.
+     */
+    public StreamingResponseBody exportTasks(Long projectId, TaskDataFormat format, AuthenticatedUser user) {
+        findProjectAndCheckOwnership(projectId, user);
+
+        return out -> {
+            try {
+                // The cursor only streams while a transaction keeps it open
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        if (format == TaskDataFormat.CSV) {
+                            writeCsv(projectId, out);
+                        } else {
+                            writeNdjson(projectId, out);
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+    }
+
+    // Helper methods
+    private void writeNdjson(Long projectId, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            // Root values are separated by the newline instead of a space
+            json.setRootValueSeparator(null);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            query(projectId, rs -> {
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong("id"));
+                json.writeStringField("title", rs.getString("title"));
+                json.writeStringField("description", rs.getString("description"));
+                Date dueDate = rs.getDate("due_date");
+                json.writeStringField("dueDate", dueDate != null ? dueDate.toLocalDate().toString() : null);
+                json.writeBooleanField("completed", rs.getBoolean("completed"));
+                json.writeEndObject();
+                json.writeRaw('\n');
+            });
+        }
+    }
+
+    private void writeCsv(Long projectId, OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.write("id,title,description,dueDate,completed\n");
+
+        query(projectId, rs -> {
+            Date dueDate = rs.getDate("due_date");
+
+            csv.write(Long.toString(rs.getLong("id")));
+            csv.write(',');
+            writeCsvField(csv, rs.getString("title"));
+            csv.write(',');
+            writeCsvField(csv, rs.getString("description"));
+            csv.write(',');
+            csv.write(dueDate != null ? dueDate.toLocalDate().toString() : "");
+            csv.write(',');
+            csv.write(Boolean.toString(rs.getBoolean("completed")));
+            csv.write('\n');
+        });
+        csv.flush();
+    }
+
+    private void query(Long projectId, RowWriter rowWriter) throws IOException {
+        try {
+            jdbcTemplate.query(EXPORT_SQL, (RowCallbackHandler) rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, projectId);
+        } catch (UncheckedIOException ex) {
+            // Client went away: stop reading the cursor
+            throw ex.getCause();
+        }
+    }
+
+    private static void writeCsvField(Writer csv, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    private void findProjectAndCheckOwnership(Long projectId, AuthenticatedUser user) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ProjectNotFoundException(projectId));
+
+        if (!project.getOwner().getId().equals(user.getId())) {
+            throw new AccessDeniedException("You don't have permission to access this project");
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,478 @@
+package com.hahn.projectmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+import com.hahn.projectmanager.dto.event.ChangeType;
+import com.hahn.projectmanager.dto.task.TaskDataFormat;
+import com.hahn.projectmanager.dto.task.TaskImportRow;
+import com.hahn.projectmanager.dto.task.TaskImportSummary;
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.exception.InvalidImportException;
+import com.hahn.projectmanager.exception.ProjectNotFoundException;
+import com.hahn.projectmanager.exception.ResourceNotFoundException;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bulk import of tasks into a project through PostgreSQL COPY.
+ * Rows are parsed and validated one at a time and streamed straight into
+ * the COPY, so memory use does not depend on the size of the upload.
+ * Rejected rows are written to an error report file instead of aborting the import.
+ *
+ * Ids come in blocks of the pooled sequence, as Hibernate takes them, instead of
+ * a nextval per row that would skip 50 ids each. The COPY is ended to reserve
+ * more, in segments that double in size up to ID_BLOCKS_PER_SEGMENT blocks.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final String COPY_SQL =
+            "COPY tasks (id, title, description, due_date, completed, project_id) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String RESERVE_IDS_SQL = "SELECT nextval('tasks_id_seq') FROM generate_series(1, ?)";
+
+    // tasks_id_seq INCREMENT BY, the allocationSize of Task's pooled generator
+    static final int ID_BLOCK_SIZE = 50;
+    static final int ID_BLOCKS_PER_SEGMENT = 64;
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    static final int MAX_TITLE_LENGTH = 255;
+    static final int MAX_LINE_LENGTH = 1_000_000;
+
+    private final ProjectRepository projectRepository;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectDeletionService projectDeletionService;
+    private final Path errorReportDir;
+    private final Duration errorReportTtl;
+
+    public TaskImportService(
+            ProjectRepository projectRepository,
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            ProjectDeletionService projectDeletionService,
+            @Value("${app.task-import.error-report-dir:${java.io.tmpdir}/task-import-errors}") String errorReportDir,
+            @Value("${app.task-import.error-report-ttl:PT24H}") Duration errorReportTtl
+    ) {
+        this.projectRepository = projectRepository;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.projectDeletionService = projectDeletionService;
+        this.errorReportDir = Paths.get(errorReportDir);
+        this.errorReportTtl = errorReportTtl;
+    }
+
+    /**
+     * Import every valid row in one transaction and bump the project counters once.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public TaskImportSummary importTasks(
+            Long projectId,
+            TaskDataFormat format,
+            InputStream body,
+            AuthenticatedUser user
+    ) throws IOException {
+        findProjectAndCheckOwnership(projectId, user);
+        projectDeletionService.checkNotDeleting(projectId);
+
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        // Shares the JDBC connection of the current JPA transaction
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+
+        try (ImportRun run = new ImportRun(projectId, connection)) {
+            if (format == TaskDataFormat.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+            run.finish();
+
+            if (run.imported > 0) {
+                projectRepository.adjustTaskCounters(projectId, (int) run.imported, (int) run.completed);
+                eventPublisher.publishEvent(new EntityChangedEvent(user.getId(),
+                        new ChangeEvent(ChangeType.TASKS_CHANGED, projectId, null)));
+            }
+
+            long elapsedNanos = System.nanoTime() - start;
+            long elapsedMillis = Duration.ofNanos(elapsedNanos).toMillis();
+            long rows = run.imported + run.rejected;
+            long rowsPerSecond = elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+
+            log.info("Imported {} task(s) into project {} ({} rejected) in {} ms, {} rows/s",
+                    run.imported, projectId, run.rejected, elapsedMillis, rowsPerSecond);
+
+            return new TaskImportSummary(run.imported, run.rejected, elapsedMillis, rowsPerSecond, run.errorReportId);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("COPY into tasks failed", ex);
+        }
+    }
+
+    /**
+     * Locate the error report of an earlier import of this project.
+     */
+    public Path getErrorReport(Long projectId, String reportId, AuthenticatedUser user) {
+        findProjectAndCheckOwnership(projectId, user);
+
+        Path report;
+        try {
+            report = errorReportDir.resolve(reportFileName(projectId, UUID.fromString(reportId).toString()));
+        } catch (IllegalArgumentException ex) {
+            throw new ResourceNotFoundException("Import error report not found");
+        }
+
+        if (!Files.isRegularFile(report)) {
+            throw new ResourceNotFoundException("Import error report not found");
+        }
+        return report;
+    }
+
+    @Scheduled(fixedDelayString = "${app.task-import.error-report-cleanup-ms:3600000}")
+    public void deleteExpiredErrorReports() throws IOException {
+        if (!Files.isDirectory(errorReportDir)) {
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(errorReportTtl);
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(errorReportDir, "*.csv")) {
+            for (Path report : reports) {
+                if (Files.getLastModifiedTime(report).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(report);
+                }
+            }
+        }
+    }
+
+    // Helper methods
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException, SQLException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new InvalidImportException("CSV header must contain a title column");
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+
+            long line = csv.recordLine();
+            try {
+                run.accept(line, new TaskImportRow(
+                        emptyToNull(field(record, columns, "title")),
+                        emptyToNull(field(record, columns, "description")),
+                        parseDate(field(record, columns, "duedate")),
+                        parseBoolean(field(record, columns, "completed"))
+                ));
+            } catch (IllegalArgumentException ex) {
+                run.reject(line, ex.getMessage());
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException, SQLException {
+        StringBuilder buffer = new StringBuilder();
+        String json;
+        long line = 0;
+
+        while ((json = readLine(reader, buffer, line + 1)) != null) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+
+            try {
+                run.accept(line, objectMapper.readValue(json, TaskImportRow.class));
+            } catch (JsonProcessingException ex) {
+                run.reject(line, "invalid JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Like readLine(), but gives up on a line longer than MAX_LINE_LENGTH instead of buffering it whole.
+     *
+     * @return the line without its terminator, or null at end of input
+     */
+    private static String readLine(BufferedReader reader, StringBuilder buffer, long line) throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (buffer.length() >= MAX_LINE_LENGTH) {
+                throw new InvalidImportException("Line " + line + " is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            buffer.append((char) c);
+        }
+
+        if (c == -1 && buffer.isEmpty()) {
+            return null;
+        }
+        int end = buffer.length();
+        return end > 0 && buffer.charAt(end - 1) == '\r' ? buffer.substring(0, end - 1) : buffer.toString();
+    }
+
+    /**
+     * @return a rejection reason, or null when the row can be imported
+     */
+    static String validate(TaskImportRow row) {
+        if (row == null || row.title() == null || row.title().isBlank()) {
+            return "title: must not be blank";
+        }
+        if (row.title().length() > MAX_TITLE_LENGTH) {
+            return "title: must be at most " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (row.title().indexOf('\0') >= 0
+                || (row.description() != null && row.description().indexOf('\0') >= 0)) {
+            return "text must not contain NUL characters";
+        }
+        return null;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("dueDate: invalid date '" + value + "'");
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "t", "1", "yes" -> true;
+            case "false", "f", "0", "no" -> false;
+            default -> throw new IllegalArgumentException("completed: invalid value '" + value + "'");
+        };
+    }
+
+    private static void appendCsv(Writer out, String value) throws IOException {
+        // Unquoted empty is NULL for COPY csv, quoted values are taken literally
+        if (value == null) {
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static String reportFileName(Long projectId, String reportId) {
+        return projectId + "-" + reportId + ".csv";
+    }
+
+    private void findProjectAndCheckOwnership(Long projectId, AuthenticatedUser user) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ProjectNotFoundException(projectId));
+
+        if (!project.getOwner().getId().equals(user.getId())) {
+            throw new AccessDeniedException("You don't have permission to access this project");
+        }
+    }
+
+    /**
+     * State of one import: the open COPY segment, the reserved ids, the lazily created error report and the tallies.
+     */
+    private final class ImportRun implements AutoCloseable {
+
+        private final Long projectId;
+        private final Connection connection;
+
+        private PGCopyOutputStream copy;
+        private Writer copyWriter;
+        private long copied;
+
+        private long[] blockEnds = new long[0];
+        private int nextBlock;
+        private int segmentBlocks;
+        private long nextId = 1;
+        private long blockEnd;
+
+        private Writer errorWriter;
+        private String errorReportId;
+        private long imported;
+        private long completed;
+        private long rejected;
+
+        ImportRun(Long projectId, Connection connection) {
+            this.projectId = projectId;
+            this.connection = connection;
+        }
+
+        void accept(long line, TaskImportRow row) throws IOException, SQLException {
+            String error = validate(row);
+            if (error != null) {
+                reject(line, error);
+                return;
+            }
+
+            boolean done = Boolean.TRUE.equals(row.completed());
+            // Before touching copyWriter: may start a new segment
+            long id = nextId();
+
+            copyWriter.write(Long.toString(id));
+            copyWriter.write(',');
+            appendCsv(copyWriter, row.title());
+            copyWriter.write(',');
+            appendCsv(copyWriter, row.description());
+            copyWriter.write(',');
+            appendCsv(copyWriter, row.dueDate() != null ? row.dueDate().toString() : null);
+            copyWriter.write(',');
+            copyWriter.write(done ? "t" : "f");
+            copyWriter.write(',');
+            copyWriter.write(projectId.toString());
+            copyWriter.write('\n');
+
+            imported++;
+            if (done) {
+                completed++;
+            }
+        }
+
+        void reject(long line, String reason) throws IOException {
+            if (errorWriter == null) {
+                Files.createDirectories(errorReportDir);
+                errorReportId = UUID.randomUUID().toString();
+                errorWriter = Files.newBufferedWriter(
+                        errorReportDir.resolve(reportFileName(projectId, errorReportId)), StandardCharsets.UTF_8);
+                errorWriter.write("line,error\n");
+            }
+
+            errorWriter.write(Long.toString(line));
+            errorWriter.write(',');
+            appendCsv(errorWriter, reason);
+            errorWriter.write('\n');
+            rejected++;
+        }
+
+        void finish() throws IOException, SQLException {
+            endSegment();
+
+            if (copied != imported) {
+                throw new IllegalStateException("COPY reported " + copied + " rows, expected " + imported);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (copy != null && copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                if (errorWriter != null) {
+                    errorWriter.close();
+                }
+            } catch (IOException | SQLException ex) {
+                throw new UncheckedIOException(new IOException("Failed to close import", ex));
+            }
+        }
+
+        // Pooled semantics: nextval n stands for the ids n - 49 through n
+        private long nextId() throws IOException, SQLException {
+            if (nextId > blockEnd) {
+                if (nextBlock == blockEnds.length) {
+                    endSegment();
+                    reserveIds();
+                    copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_SIZE);
+                    copyWriter = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+                }
+                blockEnd = blockEnds[nextBlock++];
+                // The very first value of the sequence has no ids below it
+                nextId = Math.max(1, blockEnd - ID_BLOCK_SIZE + 1);
+            }
+            return nextId++;
+        }
+
+        // No other statement can run on the connection while a COPY is open
+        private void endSegment() throws IOException, SQLException {
+            if (copy != null) {
+                copyWriter.flush();
+                copied += copy.endCopy();
+                copy = null;
+            }
+        }
+
+        private void reserveIds() throws SQLException {
+            segmentBlocks = Math.min(Math.max(1, segmentBlocks * 2), ID_BLOCKS_PER_SEGMENT);
+            blockEnds = new long[segmentBlocks];
+            nextBlock = 0;
+
+            try (PreparedStatement statement = connection.prepareStatement(RESERVE_IDS_SQL)) {
+                statement.setInt(1, segmentBlocks);
+                try (ResultSet rs = statement.executeQuery()) {
+                    for (int i = 0; i < segmentBlocks && rs.next(); i++) {
+                        blockEnds[i] = rs.getLong(1);
+                    }
+                }
+            }
+        }
+    }
+}
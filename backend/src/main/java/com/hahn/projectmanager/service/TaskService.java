@@ -1,31 +1,72 @@
 package com.hahn.projectmanager.service;
 
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+import com.hahn.projectmanager.dto.event.ChangeType;
+import com.hahn.projectmanager.dto.page.CursorPage;
 import com.hahn.projectmanager.dto.task.CreateTaskRequest;
+import com.hahn.projectmanager.dto.task.DueTaskResponse;
+import com.hahn.projectmanager.dto.task.TaskBatchOperation;
+import com.hahn.projectmanager.dto.task.TaskBatchOperationType;
+import com.hahn.projectmanager.dto.task.TaskBatchRequest;
+import com.hahn.projectmanager.dto.task.TaskBatchResponse;
+import com.hahn.projectmanager.dto.task.TaskBatchResult;
 import com.hahn.projectmanager.dto.task.TaskResponse;
+import com.hahn.projectmanager.dto.task.TaskSearchMode;
 import com.hahn.projectmanager.dto.task.UpdateTaskRequest;
 import com.hahn.projectmanager.entity.Project;
 import com.hahn.projectmanager.entity.Task;
-import com.hahn.projectmanager.entity.User;
 import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.exception.InvalidCursorException;
 import com.hahn.projectmanager.exception.ProjectNotFoundException;
 import com.hahn.projectmanager.exception.TaskNotFoundException;
 import com.hahn.projectmanager.repository.ProjectRepository;
 import com.hahn.projectmanager.repository.TaskRepository;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional(readOnly = true)
 public class TaskService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
-
-    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectDeletionService projectDeletionService;
+
+    public TaskService(
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            ApplicationEventPublisher eventPublisher,
+            ProjectDeletionService projectDeletionService
+    ) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
+        this.eventPublisher = eventPublisher;
+        this.projectDeletionService = projectDeletionService;
     }
 
     /**
@@ -35,8 +76,9 @@ public class TaskService {
             Long projectId,
             Boolean completed,
             String search,
+            TaskSearchMode searchMode,
             Pageable pageable,
-            User user
+            AuthenticatedUser user
     ) {
         Project project = findProjectAndCheckOwnership(projectId, user);
 
@@ -44,7 +86,9 @@ public class TaskService {
 
         // Use search query if search parameter is provided
         if (search != null && !search.trim().isEmpty()) {
-            page = taskRepository.searchTasks(project, completed, search, pageable);
+            page = searchMode == TaskSearchMode.FULLTEXT
+                    ? fullTextSearch(projectId, completed, search, pageable)
+                    : taskRepository.searchTasks(project, completed, search, pageable);
         } else if (completed == null) {
             page = taskRepository.findByProject(project, pageable);
         } else {
@@ -54,15 +98,170 @@ public class TaskService {
         return page.map(this::mapToResponse);
     }
 
+    /**
+     * getTasks with the ETag of the data it was read from, both from one snapshot (and replica)
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ETags.Tagged<Page<TaskResponse>> getTaggedTasks(
+            Long projectId,
+            Boolean completed,
+            String search,
+            TaskSearchMode searchMode,
+            Pageable pageable,
+            AuthenticatedUser user
+    ) {
+        String etag = getTasksEtag(projectId, user, completed, search, searchMode, pageable);
+        return new ETags.Tagged<>(getTasks(projectId, completed, search, searchMode, pageable, user), etag);
+    }
+
+    /**
+     * Get tasks using keyset pagination: no offset scan and no COUNT query
+     */
+    public CursorPage<TaskResponse> getTasksByCursor(
+            Long projectId,
+            Boolean completed,
+            String search,
+            String sort,
+            String cursor,
+            int size,
+            AuthenticatedUser user
+    ) {
+        findProjectAndCheckOwnership(projectId, user);
+
+        boolean searching = search != null && !search.trim().isEmpty();
+
+        // Search results are always ordered by id
+        TaskCursor position = TaskCursor.decode(cursor, searching ? "id" : sort);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        // One extra row tells whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Task> tasks;
+
+        if (searching) {
+            tasks = taskRepository.searchPageAfterId(projectId, completed, search, position.id(), limit);
+        } else if (position.sortKey() == TaskCursor.SortKey.TITLE) {
+            tasks = taskRepository.findPageAfterTitle(projectId, completed, position.value(), position.id(), limit);
+        } else if (completed == null) {
+            tasks = taskRepository.findPageAfterId(projectId, position.id(), limit);
+        } else {
+            tasks = taskRepository.findPageByCompletedAfterId(projectId, completed, position.id(), limit);
+        }
+
+        boolean hasNext = tasks.size() > pageSize;
+        List<Task> pageContent = hasNext ? tasks.subList(0, pageSize) : tasks;
+
+        String nextCursor = hasNext
+                ? TaskCursor.after(position.sortKey(), pageContent.get(pageSize - 1)).encode()
+                : null;
+
+        return new CursorPage<>(
+                pageContent.stream().map(this::mapToResponse).toList(),
+                pageSize,
+                nextCursor,
+                hasNext
+        );
+    }
+
+    /**
+     * getTasksByCursor with the ETag of the data it was read from, both from one snapshot (and replica)
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ETags.Tagged<CursorPage<TaskResponse>> getTaggedTasksByCursor(
+            Long projectId,
+            Boolean completed,
+            String search,
+            String sort,
+            String cursor,
+            int size,
+            AuthenticatedUser user
+    ) {
+        String etag = getTasksEtag(projectId, user, completed, search, cursor, sort, size);
+        return new ETags.Tagged<>(getTasksByCursor(projectId, completed, search, sort, cursor, size, user), etag);
+    }
+
+    /**
+     * Tasks due in [from, to] across every project of the user, ordered by due
+     * date then id, with keyset pagination.
+     */
+    public CursorPage<DueTaskResponse> getDueTasks(
+            LocalDate from,
+            LocalDate to,
+            Boolean completed,
+            String cursor,
+            int size,
+            AuthenticatedUser user
+    ) {
+        TaskCursor position = TaskCursor.decode(cursor, TaskCursor.SortKey.DUE_DATE);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        // Start of the window unless the cursor is already past it
+        LocalDate afterDate = from;
+        long afterId = 0L;
+        if (!position.value().isEmpty()) {
+            try {
+                LocalDate cursorDate = LocalDate.parse(position.value());
+                if (!cursorDate.isBefore(from)) {
+                    afterDate = cursorDate;
+                    afterId = position.id();
+                }
+            } catch (DateTimeParseException e) {
+                throw new InvalidCursorException();
+            }
+        }
+
+        List<DueTaskResponse> tasks = from.isAfter(to)
+                ? List.of()
+                : taskRepository.findDuePageAfter(user.getId(), completed, afterDate, afterId, to,
+                        Limit.of(pageSize + 1));
+
+        boolean hasNext = tasks.size() > pageSize;
+        List<DueTaskResponse> pageContent = hasNext ? tasks.subList(0, pageSize) : tasks;
+
+        String nextCursor = null;
+        if (hasNext) {
+            DueTaskResponse last = pageContent.get(pageSize - 1);
+            nextCursor = new TaskCursor(TaskCursor.SortKey.DUE_DATE, last.dueDate().toString(), last.id()).encode();
+        }
+
+        return new CursorPage<>(pageContent, pageSize, nextCursor, hasNext);
+    }
+
+    /**
+     * ETag of a task list: the project's tasks_version plus the query parameters.
+     * @return null when the project does not exist or belongs to someone else
+     */
+    public String getTasksEtag(Long projectId, AuthenticatedUser user, Object... query) {
+        return projectRepository.findTasksVersion(projectId, user.getId())
+                .map(tasksVersion -> ETags.collection("tasks", projectId, tasksVersion, Arrays.toString(query)))
+                .orElse(null);
+    }
+
+    /**
+     * @return the task's ETag, or null when it is missing or not owned by the user
+     */
+    public String getTaskEtag(Long projectId, Long taskId, AuthenticatedUser user) {
+        return taskRepository.findOwnedTaskVersion(taskId, projectId, user.getId())
+                .map(ETags::task)
+                .orElse(null);
+    }
+
     /**
      * Get a single task by ID
      */
-    public TaskResponse getTaskById(Long projectId, Long taskId, User user) {
-        Project project = findProjectAndCheckOwnership(projectId, user);
-        Task task = findTaskAndCheckProject(taskId, project);
+    public TaskResponse getTaskById(Long projectId, Long taskId, AuthenticatedUser user) {
+        Task task = findOwnedTask(projectId, taskId, user);
         return mapToResponse(task);
     }
 
+    /**
+     * Get a single task with the ETag of the very version that was mapped
+     */
+    public ETags.Tagged<TaskResponse> getTaggedTask(Long projectId, Long taskId, AuthenticatedUser user) {
+        Task task = findOwnedTask(projectId, taskId, user);
+        return new ETags.Tagged<>(mapToResponse(task), ETags.task(task));
+    }
+
     /**
      * Create a new task
      */
@@ -70,9 +269,10 @@ public class TaskService {
     public TaskResponse createTask(
             Long projectId,
             CreateTaskRequest request,
-            User user
+            AuthenticatedUser user
     ) {
         Project project = findProjectAndCheckOwnership(projectId, user);
+        projectDeletionService.checkNotDeleting(projectId);
 
         Task task = Task.builder()
                 .title(request.title())
@@ -83,6 +283,8 @@ public class TaskService {
                 .build();
 
         taskRepository.save(task);
+        projectRepository.adjustTaskCounters(projectId, 1, 0);
+        publish(user, ChangeType.TASK_CREATED, projectId, task.getId());
 
         return mapToResponse(task);
     }
@@ -95,16 +297,20 @@ public class TaskService {
             Long projectId,
             Long taskId,
             UpdateTaskRequest request,
-            User user
+            String ifMatch,
+            AuthenticatedUser user
     ) {
-        Project project = findProjectAndCheckOwnership(projectId, user);
-        Task task = findTaskAndCheckProject(taskId, project);
+        Task task = findOwnedTask(projectId, taskId, user);
+        ETags.checkIfMatch(ifMatch, ETags.task(task));
 
         task.setTitle(request.title());
         task.setDescription(request.description());
         task.setDueDate(request.dueDate());
 
         taskRepository.save(task);
+        // Counters are unchanged, but the task lists are not
+        projectRepository.touchTasks(projectId);
+        publish(user, ChangeType.TASK_UPDATED, projectId, taskId);
 
         return mapToResponse(task);
     }
@@ -113,13 +319,17 @@ public class TaskService {
      * Mark task as completed
      */
     @Transactional
-    public TaskResponse markCompleted(Long projectId, Long taskId, User user) {
-        Project project = findProjectAndCheckOwnership(projectId, user);
-        Task task = findTaskAndCheckProject(taskId, project);
+    public TaskResponse markCompleted(Long projectId, Long taskId, String ifMatch, AuthenticatedUser user) {
+        Task task = findOwnedTask(projectId, taskId, user);
+        ETags.checkIfMatch(ifMatch, ETags.task(task));
 
-        task.setCompleted(true);
+        boolean changed = setCompleted(task, true);
         taskRepository.save(task);
 
+        if (changed) {
+            publish(user, ChangeType.TASK_UPDATED, projectId, taskId);
+        }
+
         return mapToResponse(task);
     }
 
@@ -131,14 +341,19 @@ public class TaskService {
             Long projectId,
             Long taskId,
             boolean completed,
-            User user
+            String ifMatch,
+            AuthenticatedUser user
     ) {
-        Project project = findProjectAndCheckOwnership(projectId, user);
-        Task task = findTaskAndCheckProject(taskId, project);
+        Task task = findOwnedTask(projectId, taskId, user);
+        ETags.checkIfMatch(ifMatch, ETags.task(task));
 
-        task.setCompleted(completed);
+        boolean changed = setCompleted(task, completed);
         taskRepository.save(task);
 
+        if (changed) {
+            publish(user, ChangeType.TASK_UPDATED, projectId, taskId);
+        }
+
         return mapToResponse(task);
     }
 
@@ -146,15 +361,215 @@ public class TaskService {
      * Delete a task
      */
     @Transactional
-    public void deleteTask(Long projectId, Long taskId, User user) {
-        Project project = findProjectAndCheckOwnership(projectId, user);
-        Task task = findTaskAndCheckProject(taskId, project);
+    public void deleteTask(Long projectId, Long taskId, String ifMatch, AuthenticatedUser user) {
+        Task task = findOwnedTask(projectId, taskId, user);
+        ETags.checkIfMatch(ifMatch, ETags.task(task));
 
         taskRepository.delete(task);
+        projectRepository.adjustTaskCounters(projectId, -1, task.isCompleted() ? -1 : 0);
+        publish(user, ChangeType.TASK_DELETED, projectId, taskId);
+    }
+
+    /**
+     * Apply a batch of mixed operations in one transaction.
+     * Inserts, updates and deletes are flushed as JDBC batches and the
+     * project counters are adjusted once for the whole batch.
+     * Operations carry no If-Match; concurrent edits surface as a 409 at commit.
+     */
+    @Transactional
+    public TaskBatchResponse applyBatch(
+            Long projectId,
+            TaskBatchRequest request,
+            AuthenticatedUser user
+    ) {
+        Project project = findProjectAndCheckOwnership(projectId, user);
+        projectDeletionService.checkNotDeleting(projectId);
+        List<TaskBatchOperation> operations = request.operations();
+
+        // Every task referenced by the batch, loaded in one query
+        Set<Long> taskIds = new HashSet<>();
+        for (TaskBatchOperation operation : operations) {
+            if (operation != null && operation.taskId() != null) {
+                taskIds.add(operation.taskId());
+            }
+        }
+
+        Map<Long, Task> tasks = taskRepository.findByProjectIdAndIdIn(projectId, taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        // Ids that exist in another project are forbidden rather than not found
+        Set<Long> foreignIds = new HashSet<>(taskIds);
+        foreignIds.removeAll(tasks.keySet());
+        if (!foreignIds.isEmpty()) {
+            foreignIds = new HashSet<>(taskRepository.findExistingIds(foreignIds));
+        }
+
+        List<TaskBatchResult> results = new ArrayList<>(operations.size());
+        int totalDelta = 0;
+        int completedDelta = 0;
+        boolean changed = false;
+
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            String error = validateBatchOperation(operation);
+
+            if (error != null) {
+                results.add(batchFailure(i, operation, HttpStatus.BAD_REQUEST, error));
+                continue;
+            }
+
+            if (operation.op() == TaskBatchOperationType.CREATE) {
+                Task task = Task.builder()
+                        .title(operation.title())
+                        .description(operation.description())
+                        .dueDate(operation.dueDate())
+                        .completed(false)
+                        .project(project)
+                        .build();
+
+                // Sequence ids: the INSERT is deferred to the batched flush
+                taskRepository.save(task);
+                totalDelta++;
+                changed = true;
+
+                results.add(batchSuccess(i, operation, HttpStatus.CREATED, mapToResponse(task)));
+                continue;
+            }
+
+            Task task = tasks.get(operation.taskId());
+
+            if (task == null) {
+                results.add(foreignIds.contains(operation.taskId())
+                        ? batchFailure(i, operation, HttpStatus.FORBIDDEN,
+                                "This task does not belong to the specified project")
+                        : batchFailure(i, operation, HttpStatus.NOT_FOUND,
+                                new TaskNotFoundException(operation.taskId()).getMessage()));
+                continue;
+            }
+
+            switch (operation.op()) {
+                case UPDATE -> {
+                    task.setTitle(operation.title());
+                    task.setDescription(operation.description());
+                    task.setDueDate(operation.dueDate());
+                    changed = true;
+                    results.add(batchSuccess(i, operation, HttpStatus.OK, mapToResponse(task)));
+                }
+                case TOGGLE -> {
+                    int delta = changeCompletion(task, operation.completed());
+                    completedDelta += delta;
+                    changed |= delta != 0;
+                    results.add(batchSuccess(i, operation, HttpStatus.OK, mapToResponse(task)));
+                }
+                case DELETE -> {
+                    tasks.remove(task.getId());
+                    taskRepository.delete(task);
+                    totalDelta--;
+                    completedDelta -= task.isCompleted() ? 1 : 0;
+                    changed = true;
+                    results.add(batchSuccess(i, operation, HttpStatus.NO_CONTENT, null));
+                }
+                default -> throw new IllegalStateException("Unhandled operation " + operation.op());
+            }
+        }
+
+        // Also bumps tasks_version when only titles or due dates changed
+        if (changed) {
+            projectRepository.adjustTaskCounters(projectId, totalDelta, completedDelta);
+            publish(user, ChangeType.TASKS_CHANGED, projectId, null);
+        }
+
+        int failed = (int) results.stream().filter(r -> r.error() != null).count();
+        return new TaskBatchResponse(results.size() - failed, failed, results);
     }
 
     // Helper methods
-    private Project findProjectAndCheckOwnership(Long projectId, User user) {
+    /**
+     * @return whether the completion state changed
+     */
+    private boolean setCompleted(Task task, boolean completed) {
+        int delta = changeCompletion(task, completed);
+
+        if (delta != 0) {
+            projectRepository.adjustTaskCounters(task.getProject().getId(), 0, delta);
+        }
+        return delta != 0;
+    }
+
+    private void publish(AuthenticatedUser user, ChangeType type, Long projectId, Long taskId) {
+        eventPublisher.publishEvent(new EntityChangedEvent(user.getId(), new ChangeEvent(type, projectId, taskId)));
+    }
+
+    /**
+     * @return the change in completed tasks: -1, 0 or 1
+     */
+    private static int changeCompletion(Task task, boolean completed) {
+        if (task.isCompleted() == completed) {
+            return 0;
+        }
+
+        task.setCompleted(completed);
+        return completed ? 1 : -1;
+    }
+
+    private static String validateBatchOperation(TaskBatchOperation operation) {
+        if (operation == null || operation.op() == null) {
+            return "op: must not be null";
+        }
+        if (operation.op() != TaskBatchOperationType.CREATE && operation.taskId() == null) {
+            return "taskId: must not be null";
+        }
+        boolean needsTitle = operation.op() == TaskBatchOperationType.CREATE
+                || operation.op() == TaskBatchOperationType.UPDATE;
+        if (needsTitle && (operation.title() == null || operation.title().isBlank())) {
+            return "title: must not be blank";
+        }
+        // Caught here rather than failing the whole batch at flush
+        if (needsTitle && operation.title().length() > TaskImportService.MAX_TITLE_LENGTH) {
+            return "title: must be at most " + TaskImportService.MAX_TITLE_LENGTH + " characters";
+        }
+        if (operation.op() == TaskBatchOperationType.TOGGLE && operation.completed() == null) {
+            return "completed: must not be null";
+        }
+        return null;
+    }
+
+    private static TaskBatchResult batchSuccess(
+            int index, TaskBatchOperation operation, HttpStatus status, TaskResponse task) {
+        return new TaskBatchResult(index, operation.op(), status.value(), task, null);
+    }
+
+    private static TaskBatchResult batchFailure(
+            int index, TaskBatchOperation operation, HttpStatus status, String error) {
+        TaskBatchOperationType op = operation != null ? operation.op() : null;
+        return new TaskBatchResult(index, op, status.value(), null, Objects.requireNonNull(error));
+    }
+
+    private Page<Task> fullTextSearch(Long projectId, Boolean completed, String search, Pageable pageable) {
+        String query = toPrefixQuery(search);
+
+        if (query.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        // Results are ordered by relevance, so the requested sort does not apply
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return taskRepository.fullTextSearchTasks(projectId, completed, query, unsorted);
+    }
+
+    /**
+     * Turn free text into a tsquery where every word is a prefix, e.g.
+     * "fix log" -> "fix:* & log:*". Anything but letters and digits is
+     * dropped so user input can never break the tsquery syntax.
+     */
+    static String toPrefixQuery(String search) {
+        return Arrays.stream(search.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term.toLowerCase() + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private Project findProjectAndCheckOwnership(Long projectId, AuthenticatedUser user) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ProjectNotFoundException(projectId));
 
@@ -165,6 +580,19 @@ public class TaskService {
         return project;
     }
 
+    private Task findOwnedTask(Long projectId, Long taskId, AuthenticatedUser user) {
+        Optional<Task> task = taskRepository.findOwnedTask(taskId, projectId, user.getId());
+
+        if (task.isPresent()) {
+            return task.get();
+        }
+
+        // Miss: replay the individual checks so the caller gets the same
+        // not-found / forbidden error as before
+        Project project = findProjectAndCheckOwnership(projectId, user);
+        return findTaskAndCheckProject(taskId, project);
+    }
+
     private Task findTaskAndCheckProject(Long taskId, Project project) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException(taskId));
@@ -176,7 +604,7 @@ public class TaskService {
         return task;
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    TaskResponse mapToResponse(Task task) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
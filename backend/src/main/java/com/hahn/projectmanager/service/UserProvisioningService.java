@@ -0,0 +1,116 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.dto.auth.RegisterRequest;
+import com.hahn.projectmanager.dto.user.BulkUserRequest;
+import com.hahn.projectmanager.dto.user.BulkUserResponse;
+import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.repository.UserRepository;
+import com.hahn.projectmanager.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk creation of user accounts by an administrator.
+ * <p>
+ * Passwords are hashed through the shared bounded encoder, with at most
+ * hashing-concurrency of them in flight, so a run counts against the same
+ * BCrypt bound as logins and never holds more than that many of its slots.
+ * When the encoder is saturated the run stops with 429. Users are inserted a
+ * batch at a time, one statement per batch; each batch commits on its own and
+ * a retried request skips the emails that made it in.
+ */
+@Service
+public class UserProvisioningService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final int hashingConcurrency;
+    private final int batchSize;
+    private final Set<String> adminEmails;
+
+    public UserProvisioningService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.user-provisioning.hashing-concurrency:2}") int hashingConcurrency,
+            @Value("${app.user-provisioning.batch-size:500}") int batchSize,
+            @Value("${app.admin.emails:}") Set<String> adminEmails
+    ) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.hashingConcurrency = hashingConcurrency;
+        this.batchSize = batchSize;
+        this.adminEmails = adminEmails;
+    }
+
+    public BulkUserResponse provision(BulkUserRequest request, AuthenticatedUser admin) {
+        if (admin == null || !adminEmails.contains(admin.getEmail())) {
+            throw new AccessDeniedException("Only administrators can provision users");
+        }
+
+        List<String> skipped = new ArrayList<>();
+        Map<String, RegisterRequest> unique = new LinkedHashMap<>();
+        for (RegisterRequest user : request.users()) {
+            if (unique.putIfAbsent(user.email(), user) != null) {
+                skipped.add(user.email());
+            }
+        }
+        List<RegisterRequest> users = List.copyOf(unique.values());
+
+        int created = 0;
+        // The callers only wait on the encoder's pool, which does the hashing
+        try (ExecutorService callers = Executors.newFixedThreadPool(hashingConcurrency,
+                Thread.ofVirtual().name("user-provisioning-", 0).factory())) {
+            for (int from = 0; from < users.size(); from += batchSize) {
+                List<User> batch = hash(users.subList(from, Math.min(from + batchSize, users.size())), callers);
+                Set<String> inserted = userRepository.insertAllIfAbsent(batch);
+
+                created += inserted.size();
+                for (User user : batch) {
+                    if (!inserted.contains(user.getEmail())) {
+                        skipped.add(user.getEmail());
+                    }
+                }
+            }
+        }
+
+        return new BulkUserResponse(request.users().size(), created, skipped);
+    }
+
+    // Helper methods
+    private List<User> hash(List<RegisterRequest> requests, ExecutorService callers) {
+        List<CompletableFuture<User>> hashed = requests.stream()
+                .map(user -> CompletableFuture.supplyAsync(() -> toUser(user), callers))
+                .toList();
+
+        try {
+            return hashed.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            hashed.forEach(future -> future.cancel(true));
+            // PasswordHashingBusyException (429) and the like, as a direct call would throw them
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    private User toUser(RegisterRequest request) {
+        return User.builder()
+                .name(request.name())
+                .email(request.email())
+                .password(passwordEncoder.encode(request.password()))
+                .build();
+    }
+}
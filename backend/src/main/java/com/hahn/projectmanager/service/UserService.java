@@ -18,18 +18,20 @@ public class UserService {
         this.passwordEncoder = passwordEncoder;
     }
 
+    /**
+     * Create the user in a single statement: two concurrent sign-ups with the
+     * same email cannot both pass a prior lookup.
+     */
     public void register(RegisterRequest request) {
 
-        if (userRepository.findByEmail(request.email()).isPresent()) {
-            throw new EmailAlreadyExistsException();
-        }
-
         User user = User.builder()
                 .name(request.name())
                 .email(request.email())
                 .password(passwordEncoder.encode(request.password()))
                 .build();
 
-        userRepository.save(user);
+        if (!userRepository.insertIfAbsent(user)) {
+            throw new EmailAlreadyExistsException();
+        }
     }
 }
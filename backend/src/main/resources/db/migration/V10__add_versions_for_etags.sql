@@ -0,0 +1,10 @@
+-- version: optimistic lock on the row itself (JPA @Version)
+-- tasks_version: bumped with every change to a project's tasks, keys the task-list ETags
+ALTER TABLE projects
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN tasks_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+ALTER TABLE tasks
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
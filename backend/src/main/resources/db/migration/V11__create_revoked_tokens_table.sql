@@ -0,0 +1,8 @@
+-- Individually revoked tokens (logout), kept until the token would have expired anyway.
+-- expires_at is in UTC
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,6 @@
+-- Due-date windows across an owner's projects: projects (user_id, id) drives the
+-- ownership join, then each project is one range scan on (due_date, id).
+-- Tasks without a due date never match a window and stay out of the index.
+CREATE INDEX idx_tasks_project_id_due_date_id
+    ON tasks (project_id, due_date, id)
+    WHERE due_date IS NOT NULL;
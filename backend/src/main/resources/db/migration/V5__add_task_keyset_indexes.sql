@@ -0,0 +1,9 @@
+-- Seek predicates used by cursor pagination of a project's tasks
+CREATE INDEX idx_tasks_project_id_id
+    ON tasks (project_id, id);
+
+CREATE INDEX idx_tasks_project_id_completed_id
+    ON tasks (project_id, completed, id);
+
+CREATE INDEX idx_tasks_project_id_title_id
+    ON tasks (project_id, title, id);
@@ -0,0 +1,16 @@
+-- Substring search on titles (LOWER(title) LIKE '%...%') through trigrams
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_tasks_title_trgm
+    ON tasks USING gin (LOWER(title) gin_trgm_ops);
+
+-- Ranked full-text search over title (weight A) and description (weight B)
+ALTER TABLE tasks
+    ADD COLUMN search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX idx_tasks_search_vector
+    ON tasks USING gin (search_vector);
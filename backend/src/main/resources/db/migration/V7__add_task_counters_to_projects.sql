@@ -0,0 +1,16 @@
+-- Denormalized task counters, kept exact by TaskService mutations
+ALTER TABLE projects
+    ADD COLUMN total_tasks INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN completed_tasks INTEGER NOT NULL DEFAULT 0;
+
+UPDATE projects p
+SET total_tasks = c.total,
+    completed_tasks = c.completed
+FROM (
+         SELECT project_id,
+                COUNT(*) AS total,
+                COUNT(*) FILTER (WHERE completed) AS completed
+         FROM tasks
+         GROUP BY project_id
+     ) c
+WHERE p.id = c.project_id;
@@ -0,0 +1,4 @@
+-- Ownership-filtered project listing (WHERE user_id = ? ORDER BY id) and the
+-- users -> projects cascade. Task access paths are covered by V5 and V6.
+CREATE INDEX idx_projects_user_id_id
+    ON projects (user_id, id);
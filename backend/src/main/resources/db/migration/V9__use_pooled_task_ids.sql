@@ -0,0 +1,3 @@
+-- Hibernate reserves 50 ids per nextval (pooled optimizer) so task inserts can be batched.
+-- Plain inserts relying on the column default keep working, they just skip ahead.
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
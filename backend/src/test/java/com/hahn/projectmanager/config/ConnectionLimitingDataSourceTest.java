@@ -0,0 +1,55 @@
+package com.hahn.projectmanager.config;
+
+import com.hahn.projectmanager.exception.DatabaseBusyException;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final Connection pooled = mock(Connection.class);
+
+    private final ConnectionLimitingDataSource dataSource =
+            new ConnectionLimitingDataSource(pool, 2, Duration.ofMillis(50));
+
+    @Test
+    void getConnection_beyondLimit_failsAfterTimeout() throws Exception {
+        when(pool.getConnection()).thenReturn(pooled);
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThat(dataSource.getActive()).isEqualTo(2);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(DatabaseBusyException.class);
+    }
+
+    @Test
+    void close_releasesPermitOnce() throws Exception {
+        when(pool.getConnection()).thenReturn(pooled);
+
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getActive()).isZero();
+        verify(pooled, times(1)).close();
+    }
+
+    @Test
+    void getConnection_poolFailure_releasesPermit() throws Exception {
+        when(pool.getConnection()).thenThrow(new java.sql.SQLException("down"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+        assertThat(dataSource.getActive()).isZero();
+    }
+}
@@ -0,0 +1,136 @@
+package com.hahn.projectmanager.config;
+
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+import com.hahn.projectmanager.dto.event.ChangeType;
+import com.hahn.projectmanager.security.JwtUserPrincipal;
+import com.hahn.projectmanager.service.EntityChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+    private final AtomicInteger replicaConnections = new AtomicInteger();
+    private final ReadReplicaDataSource dataSource = new ReadReplicaDataSource(
+            primary, replicas(), tracker, Duration.ofSeconds(1), Duration.ofSeconds(30),
+            replicaConnections::incrementAndGet);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getConnection_alternatesBetweenReplicas() throws Exception {
+        stubConnections();
+
+        assertThat(List.of(dataSource.getConnection(), dataSource.getConnection(), dataSource.getConnection()))
+                .containsExactly(replica1Connection, replica2Connection, replica1Connection);
+        assertThat(replicaConnections).hasValue(3);
+    }
+
+    @Test
+    void getConnection_failingReplica_isSkippedUntilHealthy() throws Exception {
+        stubConnections();
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        assertThat(dataSource.getHealthyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_noUsableReplica_fallsBackToPrimary() throws Exception {
+        stubConnections();
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+        when(replica2.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getFallbacks()).isEqualTo(1);
+        assertThat(replicaConnections).hasValue(0);
+    }
+
+    @Test
+    void getConnection_afterOwnWrite_staysOnPrimary() throws Exception {
+        stubConnections();
+        tracker.onEntityChanged(new EntityChangedEvent(7L, new ChangeEvent(ChangeType.TASK_CREATED, 1L, 2L)));
+
+        authenticate(8L);
+        assertThat(dataSource.getConnection()).isSameAs(replica1Connection);
+
+        authenticate(7L);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getPinnedReads()).isEqualTo(1);
+    }
+
+    @Test
+    void checkHealth_takesOutLaggingReplica_andRestoresItWhenCaughtUp() throws Exception {
+        stubConnections();
+        ResultSet lag1 = stubLag(replica1Connection);
+        ResultSet lag2 = stubLag(replica2Connection);
+        when(lag1.getDouble(1)).thenReturn(45.0, 0.0);
+        when(lag2.getDouble(1)).thenReturn(0.0);
+
+        dataSource.checkHealth();
+        assertThat(dataSource.getHealthyCount()).isEqualTo(1);
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+
+        dataSource.checkHealth();
+        assertThat(dataSource.getHealthyCount()).isEqualTo(2);
+    }
+
+    // Helper methods
+    private Map<String, DataSource> replicas() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        return replicas;
+    }
+
+    private void stubConnections() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+    }
+
+    private static ResultSet stubLag(Connection connection) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(result);
+        when(result.next()).thenReturn(true);
+        return result;
+    }
+
+    private static void authenticate(Long userId) {
+        JwtUserPrincipal principal = new JwtUserPrincipal(userId, "John", "john@mail.com", 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
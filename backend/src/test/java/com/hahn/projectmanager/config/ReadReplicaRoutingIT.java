@@ -0,0 +1,165 @@
+package com.hahn.projectmanager.config;
+
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+import com.hahn.projectmanager.dto.event.ChangeType;
+import com.hahn.projectmanager.security.JwtUserPrincipal;
+import com.hahn.projectmanager.service.EntityChangedEvent;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two independent Postgres containers stand in for the primary and a replica;
+ * their database names show where a statement ran.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReadReplicaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingIT {
+
+    @Container
+    static PostgreSQLContainer<?> primary =
+            new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("primarydb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @Container
+    static PostgreSQLContainer<?> replica =
+            new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("replicadb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        // Flyway runs against the primary only; replication would copy the schema
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("app.read-replicas.enabled", () -> "true");
+        registry.add("app.read-replicas.urls", replica::getJdbcUrl);
+        registry.add("app.read-replicas.connection-timeout", () -> "PT1S");
+    }
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    ReadReplicaDataSource readReplicaDataSource;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyTransactions_goToTheReplica() {
+        assertThat(databaseIn(true)).isEqualTo("replicadb");
+        assertThat(databaseIn(false)).isEqualTo("primarydb");
+    }
+
+    @Test
+    @Order(2)
+    void ownWrite_keepsThatUsersReadsOnThePrimary() {
+        authenticate(7L);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> eventPublisher.publishEvent(
+                new EntityChangedEvent(7L, new ChangeEvent(ChangeType.TASK_CREATED, 1L, 2L))));
+
+        assertThat(databaseIn(true)).isEqualTo("primarydb");
+
+        authenticate(8L);
+        assertThat(databaseIn(true)).isEqualTo("replicadb");
+    }
+
+    @Test
+    @Order(3)
+    void replicaSessions_doNotPutIntoTheSecondLevelCache() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        CacheMode replicaMode = tx.execute(status -> {
+            entityManager.createNativeQuery("SELECT 1").getSingleResult();
+            return entityManager.unwrap(Session.class).getCacheMode();
+        });
+        CacheMode primaryMode = new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.createNativeQuery("SELECT 1").getSingleResult();
+            return entityManager.unwrap(Session.class).getCacheMode();
+        });
+
+        assertThat(replicaMode).isEqualTo(CacheMode.GET);
+        assertThat(primaryMode).isEqualTo(CacheMode.NORMAL);
+    }
+
+    @Test
+    @Order(4)
+    void healthCheck_keepsACaughtUpReplica() {
+        readReplicaDataSource.checkHealth();
+
+        assertThat(readReplicaDataSource.getHealthyCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Order(5)
+    void replicaDown_readsFallBackToThePrimary() {
+        replica.stop();
+        readReplicaDataSource.checkHealth();
+
+        assertThat(readReplicaDataSource.getHealthyCount()).isZero();
+        assertThat(databaseIn(true)).isEqualTo("primarydb");
+    }
+
+    // Helper methods
+    private String databaseIn(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> (String) entityManager
+                .createNativeQuery("SELECT current_database()")
+                .getSingleResult());
+    }
+
+    private static void authenticate(Long userId) {
+        JwtUserPrincipal principal = new JwtUserPrincipal(userId, "John", "john@mail.com", 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
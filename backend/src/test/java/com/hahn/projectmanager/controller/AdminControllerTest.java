@@ -0,0 +1,94 @@
+package com.hahn.projectmanager.controller;
+
+import com.hahn.projectmanager.dto.user.BulkUserResponse;
+import com.hahn.projectmanager.security.CustomUserDetailsService;
+import com.hahn.projectmanager.security.JwtService;
+import com.hahn.projectmanager.security.TokenRevocationService;
+import com.hahn.projectmanager.security.TokenVersionService;
+import com.hahn.projectmanager.service.UserProvisioningService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AdminController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AdminControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    UserProvisioningService userProvisioningService;
+
+    @MockBean
+    JwtService jwtService;
+
+    @MockBean
+    CustomUserDetailsService customUserDetailsService;
+
+    @MockBean
+    TokenVersionService tokenVersionService;
+
+    @MockBean
+    TokenRevocationService tokenRevocationService;
+
+    @Test
+    void provisionUsers_returnsSummary() throws Exception {
+        when(userProvisioningService.provision(any(), any()))
+                .thenReturn(new BulkUserResponse(2, 1, List.of("taken@mail.com")));
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"users": [
+                                  {"name": "A", "email": "a@mail.com", "password": "password"},
+                                  {"name": "B", "email": "taken@mail.com", "password": "password"}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.skippedEmails[0]").value("taken@mail.com"));
+    }
+
+    @Test
+    void provisionUsers_invalidEntry_returns400() throws Exception {
+        mockMvc.perform(post("/api/admin/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"users": [{"name": "A", "email": "not-an-email", "password": "password"}]}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verify(userProvisioningService, never()).provision(any(), any());
+    }
+
+    @Test
+    void provisionUsers_overTheCap_returns400() throws Exception {
+        String users = IntStream.range(0, 1001)
+                .mapToObj(i -> "{\"name\": \"U\", \"email\": \"u" + i + "@mail.com\", \"password\": \"password\"}")
+                .collect(Collectors.joining(",", "{\"users\": [", "]}"));
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(users))
+                .andExpect(status().isBadRequest());
+
+        verify(userProvisioningService, never()).provision(any(), any());
+    }
+}
@@ -2,6 +2,8 @@ package com.hahn.projectmanager.controller;
 
 import com.hahn.projectmanager.security.CustomUserDetailsService;
 import com.hahn.projectmanager.security.JwtService;
+import com.hahn.projectmanager.security.TokenRevocationService;
+import com.hahn.projectmanager.security.TokenVersionService;
 import com.hahn.projectmanager.service.AuthService;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -33,6 +36,12 @@ class AuthControllerTest {
     @MockBean
     CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    TokenVersionService tokenVersionService;
+
+    @MockBean
+    TokenRevocationService tokenRevocationService;
+
     @Test
     void login_validRequest_returns200() throws Exception {
         mockMvc.perform(post("/api/auth/login")
@@ -57,4 +66,14 @@ class AuthControllerTest {
                         .cookie(new Cookie("refresh_token", "bad")))
                 .andExpect(status().isUnauthorized());
     }
-}
\ No newline at end of file
+
+    @Test
+    void logout_revokesBothTokens() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                        .with(csrf())
+                        .cookie(new Cookie("access_token", "access"), new Cookie("refresh_token", "refresh")))
+                .andExpect(status().isOk());
+
+        verify(authService).logout("access", "refresh");
+    }
+}
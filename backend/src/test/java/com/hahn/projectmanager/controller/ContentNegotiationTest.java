@@ -0,0 +1,158 @@
+package com.hahn.projectmanager.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.hahn.projectmanager.config.BinaryFormatsConfig;
+import com.hahn.projectmanager.dto.page.PaginatedResponse;
+import com.hahn.projectmanager.dto.project.ProjectResponse;
+import com.hahn.projectmanager.security.CustomUserDetailsService;
+import com.hahn.projectmanager.security.JwtService;
+import com.hahn.projectmanager.security.TokenRevocationService;
+import com.hahn.projectmanager.security.TokenVersionService;
+import com.hahn.projectmanager.service.ETags;
+import com.hahn.projectmanager.service.ProjectDeletionService;
+import com.hahn.projectmanager.service.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProjectController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(BinaryFormatsConfig.class)
+class ContentNegotiationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    ProjectService projectService;
+
+    @MockBean
+    ProjectDeletionService projectDeletionService;
+
+    @MockBean
+    JwtService jwtService;
+
+    @MockBean
+    CustomUserDetailsService customUserDetailsService;
+
+    @MockBean
+    TokenVersionService tokenVersionService;
+
+    @MockBean
+    TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        when(projectService.getProjectsEtag(any(), any())).thenReturn("\"abc\"");
+        when(projectService.getTaggedUserProjects(any(), any())).thenReturn(new ETags.Tagged<>(new PaginatedResponse<>(
+                List.of(new ProjectResponse(1L, "Project", null, 4, 1, 25)), 0, 10, 1, 1), "\"abc\""));
+    }
+
+    @Test
+    void listProjects_withoutAccept_staysJson() throws Exception {
+        mockMvc.perform(get("/api/projects"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
+                .andExpect(jsonPath("$.content[0].title").value("Project"));
+    }
+
+    @Test
+    void listProjects_withoutIfNoneMatch_tagsThePageInOneRead() throws Exception {
+        mockMvc.perform(get("/api/projects"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""));
+        verify(projectService, never()).getProjectsEtag(any(), any());
+    }
+
+    @Test
+    void listProjects_unchanged_isNotModifiedWithoutLoadingThePage() throws Exception {
+        mockMvc.perform(get("/api/projects").header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""));
+        verify(projectService, never()).getTaggedUserProjects(any(), any());
+    }
+
+    @Test
+    void listProjects_acceptCbor_returnsCborWithItsOwnEtag() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/projects").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc+cbor\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new CBORMapper().readTree(body);
+        assertThat(page.at("/content/0/title").asText()).isEqualTo("Project");
+        assertThat(page.get("totalElements").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void listProjects_acceptSmile_returnsSmile() throws Exception {
+        mockMvc.perform(get("/api/projects").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"));
+    }
+
+    @Test
+    void getProject_acceptCbor_returnsCborWithItsOwnEtag() throws Exception {
+        when(projectService.getProjectEtag(any(), any())).thenReturn("\"p1.2\"");
+        when(projectService.getTaggedProject(any(), any())).thenReturn(
+                new ETags.Tagged<>(new ProjectResponse(1L, "Project", null, 4, 1, 25), "\"p1.2\""));
+
+        mockMvc.perform(get("/api/projects/1").accept("application/json, application/cbor;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"p1.2\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+
+        mockMvc.perform(get("/api/projects/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"p1.2+cbor\""));
+    }
+
+    @Test
+    void getProject_changedSinceTheCheck_isTaggedWithTheVersionSent() throws Exception {
+        when(projectService.getProjectEtag(any(), any())).thenReturn("\"p1.2\"");
+        when(projectService.getTaggedProject(any(), any())).thenReturn(
+                new ETags.Tagged<>(new ProjectResponse(1L, "Renamed", null, 4, 1, 25), "\"p2.2\""));
+
+        mockMvc.perform(get("/api/projects/1").header(HttpHeaders.IF_NONE_MATCH, "\"p1.1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "\"p2.2\""))
+                .andExpect(jsonPath("$.title").value("Renamed"));
+    }
+
+    @Test
+    void getProject_unchanged_isNotModifiedWithoutLoadingIt() throws Exception {
+        when(projectService.getProjectEtag(any(), any())).thenReturn("\"p1.2\"");
+
+        mockMvc.perform(get("/api/projects/1").header(HttpHeaders.IF_NONE_MATCH, "\"p1.2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"p1.2\""));
+        verify(projectService, never()).getTaggedProject(any(), any());
+    }
+}
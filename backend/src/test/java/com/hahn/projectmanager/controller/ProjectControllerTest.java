@@ -3,10 +3,14 @@ package com.hahn.projectmanager.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hahn.projectmanager.dto.page.PaginatedResponse;
 import com.hahn.projectmanager.dto.project.CreateProjectRequest;
+import com.hahn.projectmanager.dto.project.ProjectDeletionState;
+import com.hahn.projectmanager.dto.project.ProjectDeletionStatus;
 import com.hahn.projectmanager.dto.project.ProjectProgressResponse;
 import com.hahn.projectmanager.dto.project.ProjectResponse;
 import com.hahn.projectmanager.dto.project.UpdateProjectRequest;
 import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.service.ETags;
+import com.hahn.projectmanager.service.ProjectDeletionService;
 import com.hahn.projectmanager.service.ProjectService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +45,9 @@ class ProjectControllerTest {
     @MockBean
     private ProjectService projectService;
 
+    @MockBean
+    private ProjectDeletionService projectDeletionService;
+
     private ObjectMapper objectMapper;
     private User testUser;
     private ProjectResponse projectResponse;
@@ -107,8 +114,8 @@ class ProjectControllerTest {
     @Test
     @WithMockUser
     void getProject_ShouldReturnProject() throws Exception {
-        when(projectService.getProjectById(eq(1L), any(User.class)))
-                .thenReturn(projectResponse);
+        when(projectService.getTaggedProject(eq(1L), any(User.class)))
+                .thenReturn(new ETags.Tagged<>(projectResponse, "\"p0.0\""));
 
         mockMvc.perform(get("/api/projects/1")
                         .with(user(testUser)))
@@ -116,7 +123,7 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("Test Project"));
 
-        verify(projectService).getProjectById(eq(1L), any(User.class));
+        verify(projectService).getTaggedProject(eq(1L), any(User.class));
     }
 
     @Test
@@ -132,7 +139,7 @@ class ProjectControllerTest {
                 50
         );
 
-        when(projectService.updateProject(eq(1L), any(UpdateProjectRequest.class), any(User.class)))
+        when(projectService.updateProject(eq(1L), any(UpdateProjectRequest.class), isNull(), any(User.class)))
                 .thenReturn(updatedResponse);
 
         mockMvc.perform(put("/api/projects/1")
@@ -144,18 +151,37 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.title").value("Updated Title"))
                 .andExpect(jsonPath("$.description").value("Updated Description"));
 
-        verify(projectService).updateProject(eq(1L), any(UpdateProjectRequest.class), any(User.class));
+        verify(projectService).updateProject(eq(1L), any(UpdateProjectRequest.class), isNull(), any(User.class));
     }
 
     @Test
     @WithMockUser
     void deleteProject_ShouldReturnNoContent() throws Exception {
+        when(projectDeletionService.deleteProject(eq(1L), isNull(), eq(false), any(User.class)))
+                .thenReturn(new ProjectDeletionStatus(1L, ProjectDeletionState.COMPLETED, 4, 4, 100));
+
         mockMvc.perform(delete("/api/projects/1")
                         .with(user(testUser))
                         .with(csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(projectService).deleteProject(eq(1L), any(User.class));
+        verify(projectDeletionService).deleteProject(eq(1L), isNull(), eq(false), any(User.class));
+    }
+
+    @Test
+    @WithMockUser
+    void deleteProject_Async_ShouldReturnAcceptedWithStatus() throws Exception {
+        when(projectDeletionService.deleteProject(eq(1L), isNull(), eq(true), any(User.class)))
+                .thenReturn(new ProjectDeletionStatus(1L, ProjectDeletionState.RUNNING, 20000, 0, 0));
+
+        mockMvc.perform(delete("/api/projects/1")
+                        .param("async", "true")
+                        .with(user(testUser))
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/projects/1/deletion"))
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.totalTasks").value(20000));
     }
 
     @Test
@@ -3,10 +3,13 @@ package com.hahn.projectmanager.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hahn.projectmanager.dto.page.CursorPage;
 import com.hahn.projectmanager.dto.task.CreateTaskRequest;
 import com.hahn.projectmanager.dto.task.TaskResponse;
+import com.hahn.projectmanager.dto.task.TaskSearchMode;
 import com.hahn.projectmanager.dto.task.UpdateTaskRequest;
 import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.service.ETags;
 import com.hahn.projectmanager.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -120,8 +123,8 @@ class TaskControllerTest {
                 1
         );
 
-        when(taskService.getTasks(eq(1L), isNull(), isNull(), any(), any(User.class)))
-                .thenReturn(page);
+        when(taskService.getTaggedTasks(eq(1L), isNull(), isNull(), eq(TaskSearchMode.CONTAINS), any(), any(User.class)))
+                .thenReturn(new ETags.Tagged<>(page, "\"tl\""));
 
         mockMvc.perform(get("/api/projects/1/tasks")
                         .with(user(testUser)))
@@ -130,7 +133,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.content[0].title").value("Test Task"))
                 .andExpect(jsonPath("$.totalElements").value(1));
 
-        verify(taskService).getTasks(eq(1L), isNull(), isNull(), any(), any(User.class));
+        verify(taskService).getTaggedTasks(eq(1L), isNull(), isNull(), eq(TaskSearchMode.CONTAINS), any(), any(User.class));
     }
 
     @Test
@@ -150,8 +153,8 @@ class TaskControllerTest {
                 1
         );
 
-        when(taskService.getTasks(eq(1L), eq(true), isNull(), any(), any(User.class)))
-                .thenReturn(page);
+        when(taskService.getTaggedTasks(eq(1L), eq(true), isNull(), eq(TaskSearchMode.CONTAINS), any(), any(User.class)))
+                .thenReturn(new ETags.Tagged<>(page, "\"tl\""));
 
         mockMvc.perform(get("/api/projects/1/tasks")
                         .with(user(testUser))
@@ -159,7 +162,7 @@ class TaskControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].completed").value(true));
 
-        verify(taskService).getTasks(eq(1L), eq(true), isNull(), any(), any(User.class));
+        verify(taskService).getTaggedTasks(eq(1L), eq(true), isNull(), eq(TaskSearchMode.CONTAINS), any(), any(User.class));
     }
 
     @Test
@@ -171,8 +174,8 @@ class TaskControllerTest {
                 1
         );
 
-        when(taskService.getTasks(eq(1L), isNull(), eq("Test"), any(), any(User.class)))
-                .thenReturn(page);
+        when(taskService.getTaggedTasks(eq(1L), isNull(), eq("Test"), eq(TaskSearchMode.CONTAINS), any(), any(User.class)))
+                .thenReturn(new ETags.Tagged<>(page, "\"tl\""));
 
         mockMvc.perform(get("/api/projects/1/tasks")
                         .with(user(testUser))
@@ -180,14 +183,38 @@ class TaskControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].title").value("Test Task"));
 
-        verify(taskService).getTasks(eq(1L), isNull(), eq("Test"), any(), any(User.class));
+        verify(taskService).getTaggedTasks(eq(1L), isNull(), eq("Test"), eq(TaskSearchMode.CONTAINS), any(), any(User.class));
+    }
+
+    @Test
+    @WithMockUser
+    void listTasks_WithCursor_ShouldReturnCursorPage() throws Exception {
+        CursorPage<TaskResponse> page = new CursorPage<>(
+                List.of(taskResponse),
+                20,
+                "next-cursor",
+                true
+        );
+
+        when(taskService.getTaggedTasksByCursor(eq(1L), isNull(), isNull(), eq("id"), eq(""), eq(20), any(User.class)))
+                .thenReturn(new ETags.Tagged<>(page, "\"tl\""));
+
+        mockMvc.perform(get("/api/projects/1/tasks")
+                        .with(user(testUser))
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(taskService).getTaggedTasksByCursor(eq(1L), isNull(), isNull(), eq("id"), eq(""), eq(20), any(User.class));
     }
 
     @Test
     @WithMockUser
     void getTask_ShouldReturnTask() throws Exception {
-        when(taskService.getTaskById(eq(1L), eq(1L), any(User.class)))
-                .thenReturn(taskResponse);
+        when(taskService.getTaggedTask(eq(1L), eq(1L), any(User.class)))
+                .thenReturn(new ETags.Tagged<>(taskResponse, "\"t0\""));
 
         mockMvc.perform(get("/api/projects/1/tasks/1")
                         .with(user(testUser)))
@@ -195,7 +222,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("Test Task"));
 
-        verify(taskService).getTaskById(eq(1L), eq(1L), any(User.class));
+        verify(taskService).getTaggedTask(eq(1L), eq(1L), any(User.class));
     }
 
     @Test
@@ -215,7 +242,7 @@ class TaskControllerTest {
                 false
         );
 
-        when(taskService.updateTask(eq(1L), eq(1L), any(UpdateTaskRequest.class), any(User.class)))
+        when(taskService.updateTask(eq(1L), eq(1L), any(UpdateTaskRequest.class), isNull(), any(User.class)))
                 .thenReturn(updatedResponse);
 
         mockMvc.perform(put("/api/projects/1/tasks/1")
@@ -227,7 +254,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Updated Task"))
                 .andExpect(jsonPath("$.description").value("Updated Description"));
 
-        verify(taskService).updateTask(eq(1L), eq(1L), any(UpdateTaskRequest.class), any(User.class));
+        verify(taskService).updateTask(eq(1L), eq(1L), any(UpdateTaskRequest.class), isNull(), any(User.class));
     }
 
     @Test
@@ -241,7 +268,7 @@ class TaskControllerTest {
                 true
         );
 
-        when(taskService.markCompleted(eq(1L), eq(1L), any(User.class)))
+        when(taskService.markCompleted(eq(1L), eq(1L), isNull(), any(User.class)))
                 .thenReturn(completedTask);
 
         mockMvc.perform(patch("/api/projects/1/tasks/1/complete")
@@ -250,7 +277,7 @@ class TaskControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.completed").value(true));
 
-        verify(taskService).markCompleted(eq(1L), eq(1L), any(User.class));
+        verify(taskService).markCompleted(eq(1L), eq(1L), isNull(), any(User.class));
     }
 
     @Test
@@ -264,7 +291,7 @@ class TaskControllerTest {
                 true
         );
 
-        when(taskService.toggleCompletion(eq(1L), eq(1L), eq(true), any(User.class)))
+        when(taskService.toggleCompletion(eq(1L), eq(1L), eq(true), isNull(), any(User.class)))
                 .thenReturn(updatedTask);
 
         mockMvc.perform(patch("/api/projects/1/tasks/1/completion")
@@ -274,7 +301,7 @@ class TaskControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.completed").value(true));
 
-        verify(taskService).toggleCompletion(eq(1L), eq(1L), eq(true), any(User.class));
+        verify(taskService).toggleCompletion(eq(1L), eq(1L), eq(true), isNull(), any(User.class));
     }
 
     @Test
@@ -285,7 +312,7 @@ class TaskControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(taskService).deleteTask(eq(1L), eq(1L), any(User.class));
+        verify(taskService).deleteTask(eq(1L), eq(1L), isNull(), any(User.class));
     }
 
     @Test
@@ -0,0 +1,42 @@
+package com.hahn.projectmanager.exception;
+
+import org.hibernate.exception.JDBCConnectionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+
+    @Test
+    void limiterTimeout_isBusyWithRetryAfter() {
+        Exception ex = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new JDBCConnectionException("Unable to acquire JDBC Connection", new DatabaseBusyException(100)));
+
+        ResponseEntity<ApiError> response = handler.handleDatabaseBusy(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void databaseOutage_isAnError_notARetryHint() {
+        Exception ex = new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                new SQLException("Connection refused"));
+
+        ResponseEntity<ApiError> response = handler.handleDatabaseBusy(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    }
+}
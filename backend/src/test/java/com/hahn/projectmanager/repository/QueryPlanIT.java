@@ -0,0 +1,250 @@
+package com.hahn.projectmanager.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression suite: seeds realistic volumes, EXPLAINs the SQL behind
+ * every repository query and fails if a plan falls back to a sequential
+ * scan of a large table or a sort that spills to disk.
+ * <p>
+ * The statements mirror what Hibernate generates for the repository methods
+ * (or the native SQL verbatim). Keep them in sync when a query changes.
+ */
+@Testcontainers
+class QueryPlanIT {
+
+    private static final int USERS = 2_500;
+    private static final int PROJECTS = 10_000;
+    private static final int TASKS = 200_000;
+
+    // Project 42 belongs to user 43 given the seeding formulas below
+    private static final long PROJECT_ID = 42;
+    private static final long OWNER_ID = 43;
+
+    private static final Set<String> LARGE_TABLES = Set.of("users", "projects", "tasks");
+
+    @Container
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    static JdbcTemplate jdbc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        jdbc = new JdbcTemplate(dataSource);
+
+        jdbc.update("""
+                INSERT INTO users (name, email, password)
+                SELECT 'User ' || g, 'user' || g || '@example.com', 'hash'
+                FROM generate_series(1, ?) g
+                """, USERS);
+        jdbc.update("""
+                INSERT INTO projects (title, description, user_id)
+                SELECT 'Project ' || g, 'Description ' || g, (g % ?) + 1
+                FROM generate_series(1, ?) g
+                """, USERS, PROJECTS);
+        jdbc.update("""
+                INSERT INTO tasks (title, description, due_date, completed, project_id)
+                SELECT 'Task ' || g || ' ' || md5(g::text),
+                       'Details for task ' || g,
+                       CURRENT_DATE + (g % 365),
+                       g % 3 = 0,
+                       (g % ?) + 1
+                FROM generate_series(1, ?) g
+                """, PROJECTS, TASKS);
+
+        // Fresh statistics and visibility map, as autovacuum would provide
+        jdbc.execute("VACUUM ANALYZE");
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                // UserRepository
+                select("users.findByEmail",
+                        "SELECT * FROM users u WHERE u.email = 'user43@example.com'"),
+                select("users.findTokenVersionById",
+                        "SELECT u.token_version FROM users u WHERE u.id = " + OWNER_ID),
+
+                // ProjectRepository
+                select("projects.findByOwnerId",
+                        "SELECT * FROM projects p WHERE p.user_id = " + OWNER_ID
+                                + " ORDER BY p.id LIMIT 10 OFFSET 0"),
+                select("projects.findByOwnerId.count",
+                        "SELECT COUNT(p.id) FROM projects p WHERE p.user_id = " + OWNER_ID),
+                select("projects.findVersion",
+                        "SELECT p.version, p.tasks_version FROM projects p WHERE p.id = " + PROJECT_ID
+                                + " AND p.user_id = " + OWNER_ID),
+                select("projects.findCollectionVersion",
+                        "SELECT COUNT(p.id), COALESCE(SUM(p.id), 0), COALESCE(SUM(p.version + p.tasks_version), 0)"
+                                + " FROM projects p WHERE p.user_id = " + OWNER_ID),
+                modifying("projects.adjustTaskCounters",
+                        "UPDATE projects SET total_tasks = total_tasks + 1, "
+                                + "completed_tasks = completed_tasks + 0, "
+                                + "tasks_version = tasks_version + 1 WHERE id = " + PROJECT_ID),
+                modifying("projects.touchTasks",
+                        "UPDATE projects SET tasks_version = tasks_version + 1 WHERE id = " + PROJECT_ID),
+                modifying("projects.reconcileTaskCounters", """
+                        UPDATE projects p
+                        SET total_tasks = c.total, completed_tasks = c.completed,
+                            tasks_version = p.tasks_version + 1
+                        FROM (
+                                 SELECT pr.id,
+                                        (SELECT COUNT(*) FROM tasks t
+                                         WHERE t.project_id = pr.id) AS total,
+                                        (SELECT COUNT(*) FROM tasks t
+                                         WHERE t.project_id = pr.id AND t.completed) AS completed
+                                 FROM projects pr
+                                 WHERE pr.id > 0 AND pr.id <= 500
+                             ) c
+                        WHERE p.id = c.id
+                          AND (p.total_tasks <> c.total OR p.completed_tasks <> c.completed)
+                        """),
+
+                // TaskRepository: single-statement ownership lookup
+                select("tasks.findOwnedTask",
+                        "SELECT t.* FROM tasks t JOIN projects p ON p.id = t.project_id"
+                                + " WHERE t.id = 1 AND t.project_id = " + PROJECT_ID
+                                + " AND p.user_id = " + OWNER_ID),
+                select("tasks.findOwnedTaskVersion",
+                        "SELECT t.version FROM tasks t JOIN projects p ON p.id = t.project_id"
+                                + " WHERE t.id = 1 AND t.project_id = " + PROJECT_ID
+                                + " AND p.user_id = " + OWNER_ID),
+
+                // TaskExportService: cursor over the whole project
+                select("tasks.export",
+                        "SELECT id, title, description, due_date, completed FROM tasks"
+                                + " WHERE project_id = " + PROJECT_ID + " ORDER BY id"),
+
+                // TaskRepository: batch lookups
+                select("tasks.findByProjectIdAndIdIn",
+                        "SELECT * FROM tasks t WHERE t.project_id = " + PROJECT_ID
+                                + " AND t.id IN (1, 2, 3)"),
+                select("tasks.findExistingIds",
+                        "SELECT t.id FROM tasks t WHERE t.id IN (1, 2, 3)"),
+
+                // TaskRepository: offset pages
+                select("tasks.findByProject",
+                        "SELECT * FROM tasks t WHERE t.project_id = " + PROJECT_ID
+                                + " ORDER BY t.id LIMIT 20 OFFSET 0"),
+                select("tasks.findByProject.count",
+                        "SELECT COUNT(t.id) FROM tasks t WHERE t.project_id = " + PROJECT_ID),
+                select("tasks.findByProjectAndCompleted",
+                        "SELECT * FROM tasks t WHERE t.project_id = " + PROJECT_ID
+                                + " AND t.completed = true ORDER BY t.id LIMIT 20 OFFSET 0"),
+                select("tasks.findByProjectAndCompleted.count",
+                        "SELECT COUNT(t.id) FROM tasks t WHERE t.project_id = " + PROJECT_ID
+                                + " AND t.completed = true"),
+                select("tasks.searchTasks",
+                        "SELECT * FROM tasks t WHERE t.project_id = " + PROJECT_ID
+                                + " AND LOWER(t.title) LIKE LOWER('%' || 'task 4' || '%')"
+                                + " ORDER BY t.id LIMIT 20 OFFSET 0"),
+                select("tasks.fullTextSearchTasks", """
+                        SELECT t.* FROM tasks t
+                        WHERE t.project_id = %d
+                          AND t.search_vector @@ to_tsquery('simple', 'details:* & task:*')
+                        ORDER BY ts_rank(t.search_vector, to_tsquery('simple', 'details:* & task:*')) DESC, t.id
+                        LIMIT 20 OFFSET 0
+                        """.formatted(PROJECT_ID)),
+
+                // TaskRepository: keyset pages
+                select("tasks.findPageAfterId",
+                        "SELECT * FROM tasks t WHERE t.project_id = " + PROJECT_ID
+                                + " AND t.id > 0 ORDER BY t.id LIMIT 21"),
+                select("tasks.findPageByCompletedAfterId",
+                        "SELECT * FROM tasks t WHERE t.project_id = " + PROJECT_ID
+                                + " AND t.completed = false AND t.id > 0 ORDER BY t.id LIMIT 21"),
+                select("tasks.findPageAfterTitle",
+                        "SELECT * FROM tasks t WHERE t.project_id = " + PROJECT_ID
+                                + " AND t.title >= 'Task 1' AND (t.title > 'Task 1' OR t.id > 0)"
+                                + " ORDER BY t.title, t.id LIMIT 21"),
+                select("tasks.searchPageAfterId",
+                        "SELECT * FROM tasks t WHERE t.project_id = " + PROJECT_ID
+                                + " AND LOWER(t.title) LIKE LOWER('%' || 'task' || '%')"
+                                + " AND t.id > 0 ORDER BY t.id LIMIT 21"),
+                select("tasks.findDuePageAfter",
+                        "SELECT t.id, p.id, p.title, t.title, t.due_date, t.completed"
+                                + " FROM tasks t JOIN projects p ON p.id = t.project_id"
+                                + " WHERE p.user_id = " + OWNER_ID
+                                + " AND t.due_date >= CURRENT_DATE AND t.due_date <= CURRENT_DATE + 30"
+                                + " AND (t.due_date > CURRENT_DATE OR t.id > 0)"
+                                + " ORDER BY t.due_date, t.id LIMIT 21")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void planUsesIndexesAndSortsInMemory(String name, String sql, boolean modifying) throws Exception {
+        // Modifying statements are only planned, never executed
+        String explain = modifying
+                ? "EXPLAIN (FORMAT JSON) " + sql
+                : "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql;
+
+        String json = jdbc.queryForObject(explain, String.class);
+        JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+
+        List<String> violations = new ArrayList<>();
+        collectViolations(plan, violations);
+
+        assertThat(violations)
+                .as("%s plan:%n%s", name, plan.toPrettyString())
+                .isEmpty();
+    }
+
+    private void collectViolations(JsonNode node, List<String> violations) {
+        String nodeType = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText();
+
+        if ("Seq Scan".equals(nodeType) && LARGE_TABLES.contains(relation)) {
+            violations.add("Seq Scan on " + relation);
+        }
+
+        if ("Disk".equals(node.path("Sort Space Type").asText())
+                || node.path("Sort Method").asText().startsWith("external")) {
+            violations.add("Sort spilled to disk (" + node.path("Sort Method").asText() + ")");
+        }
+
+        for (JsonNode child : node.path("Plans")) {
+            collectViolations(child, violations);
+        }
+    }
+
+    private static Arguments select(String name, String sql) {
+        return Arguments.of(name, sql, false);
+    }
+
+    private static Arguments modifying(String name, String sql) {
+        return Arguments.of(name, sql, true);
+    }
+}
@@ -0,0 +1,204 @@
+package com.hahn.projectmanager.repository;
+
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.entity.Task;
+import com.hahn.projectmanager.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every step runs in its own transaction, as requests do, so reads go through
+ * the second-level cache instead of the persistence context.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    TransactionTemplate tx;
+    Statistics statistics;
+    User owner;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = tx.execute(status -> userRepository.save(User.builder()
+                .name("John")
+                .email(UUID.randomUUID() + "@mail.com")
+                .password("encoded")
+                .createdAt(LocalDateTime.now())
+                .build()));
+    }
+
+    @Test
+    void counterUpdate_invalidatesOnlyThatProject() {
+        Long changed = createProject("Changed");
+        Long untouched = createProject("Untouched");
+        load(changed);
+        load(untouched);
+
+        tx.execute(status -> projectRepository.adjustTaskCounters(changed, 2, 1));
+        statistics.clear();
+
+        assertThat(load(changed).getTotalTasks()).isEqualTo(2);
+        load(untouched);
+        assertThat(statistics.getSecondLevelCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+
+        // Cached again once the update committed
+        statistics.clear();
+        assertThat(load(changed).getCompletedTasks()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void entityUpdateAndDelete_areVisibleThroughTheCache() {
+        Long projectId = createProject("Before");
+        load(projectId);
+
+        tx.executeWithoutResult(status -> projectRepository.findById(projectId).orElseThrow().setTitle("After"));
+        assertThat(load(projectId).getTitle()).isEqualTo("After");
+
+        tx.executeWithoutResult(status -> projectRepository.deleteById(projectId));
+        Optional<Project> deleted = tx.execute(status -> projectRepository.findById(projectId));
+        assertThat(deleted).isEmpty();
+    }
+
+    @Test
+    void reconcile_isVisibleThroughTheCache() {
+        Long projectId = createProject("Drifted");
+        tx.execute(status -> projectRepository.adjustTaskCounters(projectId, 5, 0));
+        load(projectId);
+
+        tx.execute(status -> {
+            projectRepository.lockIdRange(projectId - 1, projectId);
+            return projectRepository.reconcileTaskCounters(projectId - 1, projectId);
+        });
+
+        assertThat(load(projectId).getTotalTasks()).isZero();
+    }
+
+    @Test
+    void chunkedDelete_removesTasksAndOnlyThatProjectFromTheCache() {
+        Long doomed = createProject("Doomed");
+        Long untouched = createProject("Untouched");
+        tx.executeWithoutResult(status -> {
+            Project project = projectRepository.findById(doomed).orElseThrow();
+            for (int i = 0; i < 5; i++) {
+                taskRepository.save(Task.builder().title("Task " + i).completed(i < 2).project(project).build());
+            }
+        });
+        tx.execute(status -> projectRepository.adjustTaskCounters(doomed, 5, 2));
+        load(untouched);
+
+        assertThat(projectRepository.deleteTaskChunk(doomed, 3)).isEqualTo(3);
+        Project partial = load(doomed);
+        assertThat(partial.getTotalTasks()).isEqualTo(2);
+        assertThat(partial.getCompletedTasks()).isZero();
+
+        assertThat(projectRepository.deleteTaskChunk(doomed, 3)).isEqualTo(2);
+        assertThat(projectRepository.deleteTaskChunk(doomed, 3)).isZero();
+        statistics.clear();
+
+        tx.execute(status -> projectRepository.deleteProjectRow(doomed));
+        Optional<Project> deleted = tx.execute(status -> projectRepository.findById(doomed));
+        assertThat(deleted).isEmpty();
+        load(untouched);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void naturalIdLookup_isCachedAndSeesTokenVersionBumps() {
+        String email = owner.getEmail();
+        tx.execute(status -> userRepository.findByNaturalEmail(email));
+        statistics.clear();
+
+        tx.execute(status -> userRepository.findByNaturalEmail(email));
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+
+        tx.execute(status -> userRepository.incrementTokenVersion(owner.getId()));
+        User reloaded = tx.execute(status -> userRepository.findByNaturalEmail(email).orElseThrow());
+        assertThat(reloaded.getTokenVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void uncachedLookup_seesAVersionBumpTheCacheMissed() {
+        tx.execute(status -> userRepository.findById(owner.getId()));
+        // As another instance would: the row changes, this instance's cache does not hear of it
+        jdbcTemplate.update("UPDATE users SET token_version = token_version + 1 WHERE id = ?", owner.getId());
+
+        User cached = tx.execute(status -> userRepository.findById(owner.getId()).orElseThrow());
+        User fresh = tx.execute(status -> userRepository.findUncachedById(owner.getId()).orElseThrow());
+        assertThat(cached.getTokenVersion()).isZero();
+        assertThat(fresh.getTokenVersion()).isEqualTo(1);
+    }
+
+    // Helper methods
+    private Long createProject(String title) {
+        return tx.execute(status -> projectRepository.save(Project.builder()
+                .title(title)
+                .owner(owner)
+                .build())).getId();
+    }
+
+    private Project load(Long projectId) {
+        return tx.execute(status -> projectRepository.findById(projectId).orElseThrow());
+    }
+}
@@ -13,6 +13,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -55,4 +56,32 @@ class UserRepositoryIT {
         assertThat(result).isPresent();
         assertThat(result.get().getEmail()).isEqualTo("john@mail.com");
     }
-}
\ No newline at end of file
+
+    @Test
+    void insertIfAbsent_decidesOnTheEmailInOneStatement() {
+        assertThat(userRepository.insertIfAbsent(user("jane@mail.com"))).isTrue();
+        assertThat(userRepository.insertIfAbsent(user("jane@mail.com"))).isFalse();
+
+        User saved = userRepository.findByEmail("jane@mail.com").orElseThrow();
+        assertThat(saved.getCreatedAt()).isNotNull();
+        assertThat(saved.getTokenVersion()).isZero();
+    }
+
+    @Test
+    void insertAllIfAbsent_returnsOnlyTheInsertedEmails() {
+        userRepository.insertIfAbsent(user("taken@mail.com"));
+
+        assertThat(userRepository.insertAllIfAbsent(List.of(
+                user("a@mail.com"), user("taken@mail.com"), user("b@mail.com"), user("a@mail.com"))))
+                .containsExactlyInAnyOrder("a@mail.com", "b@mail.com");
+    }
+
+    // Helper methods
+    private static User user(String email) {
+        return User.builder()
+                .name("Name")
+                .email(email)
+                .password("encoded")
+                .build();
+    }
+}
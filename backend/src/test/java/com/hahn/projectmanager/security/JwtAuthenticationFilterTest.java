@@ -1,7 +1,10 @@
 package com.hahn.projectmanager.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -16,6 +19,7 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -29,9 +33,20 @@ class JwtAuthenticationFilterTest {
     @Mock
     CustomUserDetailsService userDetailsService;
 
+    @Mock
+    TokenVersionService tokenVersionService;
+
+    @Mock
+    TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     JwtAuthenticationFilter filter;
 
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void validToken_setsAuthentication() throws Exception {
         String token = "valid-token";
@@ -42,8 +57,9 @@ class JwtAuthenticationFilterTest {
         MockHttpServletResponse response = new MockHttpServletResponse();
         FilterChain chain = mock(FilterChain.class);
 
-        when(jwtService.isTokenValid(token)).thenReturn(true);
-        when(jwtService.extractEmail(token)).thenReturn("test@mail.com");
+        Claims claims = Jwts.claims().setSubject("test@mail.com");
+
+        when(jwtService.verify(token)).thenReturn(Optional.of(claims));
 
         UserDetails user = new User("test@mail.com", "pass",
                 List.of(new SimpleGrantedAuthority("ROLE_USER")));
@@ -83,7 +99,7 @@ class JwtAuthenticationFilterTest {
         MockHttpServletResponse response = new MockHttpServletResponse();
         FilterChain chain = mock(FilterChain.class);
 
-        when(jwtService.isTokenValid(token)).thenReturn(false);
+        when(jwtService.verify(token)).thenReturn(Optional.empty());
 
         filter.doFilter(request, response, chain);
 
@@ -91,4 +107,78 @@ class JwtAuthenticationFilterTest {
         verify(chain).doFilter(request, response);
         verify(userDetailsService, never()).loadUserByUsername(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void claimsToken_setsPrincipalWithoutLoadingUser() throws Exception {
+        String token = "claims-token";
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("access_token", token));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        JwtUserPrincipal principal = new JwtUserPrincipal(1L, "Test", "test@mail.com", 0);
+
+        Claims claims = Jwts.claims().setSubject("test@mail.com");
+
+        when(jwtService.verify(token)).thenReturn(Optional.of(claims));
+        when(jwtService.extractPrincipal(claims)).thenReturn(principal);
+        when(tokenVersionService.isCurrent(principal)).thenReturn(true);
+
+        filter.doFilter(request, response, chain);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        assertThat(auth).isNotNull();
+        assertThat(auth.getPrincipal()).isSameAs(principal);
+        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void revokedClaimsToken_doesNotAuthenticate() throws Exception {
+        String token = "revoked-token";
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("access_token", token));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        JwtUserPrincipal principal = new JwtUserPrincipal(1L, "Test", "test@mail.com", 0);
+
+        Claims claims = Jwts.claims().setSubject("test@mail.com");
+
+        when(jwtService.verify(token)).thenReturn(Optional.of(claims));
+        when(jwtService.extractPrincipal(claims)).thenReturn(principal);
+        when(tokenVersionService.isCurrent(principal)).thenReturn(false);
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void loggedOutToken_doesNotAuthenticate() throws Exception {
+        String token = "logged-out-token";
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("access_token", token));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        Claims claims = Jwts.claims().setSubject("test@mail.com").setId("jti-1");
+
+        when(jwtService.verify(token)).thenReturn(Optional.of(claims));
+        when(tokenRevocationService.isRevoked("jti-1")).thenReturn(true);
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(chain).doFilter(request, response);
+    }
+}
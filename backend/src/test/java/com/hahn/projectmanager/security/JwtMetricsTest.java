@@ -0,0 +1,29 @@
+package com.hahn.projectmanager.security;
+
+import com.hahn.projectmanager.entity.User;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtMetricsTest {
+
+    private final JwtService jwtService = new JwtService(
+            "test-secret-key-that-is-long-enough-for-hs256", 60_000, 120_000);
+
+    @Test
+    void bindTo_publishesVerificationStats() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new JwtMetrics(jwtService).bindTo(registry);
+
+        String token = jwtService.generateAccessToken(User.builder().id(1L).name("T").email("t@mail.com").build());
+        jwtService.verify(token);
+        jwtService.verify(token);
+
+        FunctionTimer verify = registry.get("jwt.verify").functionTimer();
+        assertThat(verify.count()).isEqualTo(1);
+        assertThat(registry.get("jwt.verify.cache").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("jwt.verify.cache.size").gauge().value()).isEqualTo(1);
+    }
+}
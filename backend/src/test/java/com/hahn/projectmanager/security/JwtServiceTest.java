@@ -1,5 +1,6 @@
 package com.hahn.projectmanager.security;
 
+import com.hahn.projectmanager.entity.User;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,6 +22,16 @@ class JwtServiceTest {
                 .isEqualTo("test@mail.com");
     }
 
+    @Test
+    void generatedTokens_haveDistinctIds() {
+        String first = jwtService.generateAccessToken("test@mail.com");
+        String second = jwtService.generateAccessToken("test@mail.com");
+
+        assertThat(jwtService.extractTokenId(first))
+                .isNotBlank()
+                .isNotEqualTo(jwtService.extractTokenId(second));
+    }
+
     @Test
     void invalidToken_returnsFalse() {
         String badToken = "invalid.token.value";
@@ -28,4 +39,72 @@ class JwtServiceTest {
         assertThat(jwtService.isTokenValid(badToken))
                 .isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateAccessToken_forUser_carriesPrincipalClaims() {
+        User user = User.builder()
+                .id(42L)
+                .name("Test")
+                .email("test@mail.com")
+                .build();
+        user.setTokenVersion(3);
+
+        String token = jwtService.generateAccessToken(user);
+        JwtUserPrincipal principal = jwtService.extractPrincipal(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getName()).isEqualTo("Test");
+        assertThat(principal.getEmail()).isEqualTo("test@mail.com");
+        assertThat(principal.getTokenVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void extractPrincipal_legacyToken_returnsNull() {
+        String token = jwtService.generateAccessToken("test@mail.com");
+
+        assertThat(jwtService.extractPrincipal(token)).isNull();
+    }
+
+    @Test
+    void extractTokenVersion_legacyToken_isZero() {
+        User user = User.builder().id(42L).name("Test").email("test@mail.com").build();
+        user.setTokenVersion(3);
+
+        assertThat(jwtService.extractTokenVersion(jwtService.generateRefreshToken(user))).isEqualTo(3);
+        assertThat(jwtService.extractTokenVersion(jwtService.generateRefreshToken("test@mail.com"))).isZero();
+    }
+
+    @Test
+    void verify_fullCacheOfLiveTokens_skipsCachingWithoutGrowing() {
+        JwtService small = new JwtService(
+                "Kp9mV3xR8nQ2wE5tY7uI0oP4sA6dF1gH3jK5lZ8cX9bN2mQ4wE6rT8yU1iO3pA7s",
+                3600000L, 86400000L, true, 2);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(small.verify(small.generateAccessToken("user" + i + "@mail.com"))).isPresent();
+        }
+
+        assertThat(small.getVerificationStats().cacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    void verify_repeatedToken_isServedFromCache() {
+        String token = jwtService.generateAccessToken("test@mail.com");
+
+        assertThat(jwtService.verify(token)).isPresent();
+        assertThat(jwtService.verify(token)).isPresent();
+
+        JwtVerificationStats stats = jwtService.getVerificationStats();
+        assertThat(stats.verifications()).isEqualTo(1);
+        assertThat(stats.cacheHits()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void verify_tamperedToken_returnsEmpty() {
+        String token = jwtService.generateAccessToken("test@mail.com");
+
+        assertThat(jwtService.verify(token + "x")).isEmpty();
+    }
+}
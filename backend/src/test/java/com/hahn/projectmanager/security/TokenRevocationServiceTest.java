@@ -0,0 +1,87 @@
+package com.hahn.projectmanager.security;
+
+import com.hahn.projectmanager.entity.RevokedToken;
+import com.hahn.projectmanager.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final TokenRevocationService service = new TokenRevocationService(repository, 1000, 0.01);
+
+    @Test
+    void revoke_persistsAndDeniesTheToken() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+
+        service.revoke("jti-1", expiresAt);
+
+        verify(repository).insertIfAbsent("jti-1",
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneOffset.UTC));
+        assertThat(service.isRevoked("jti-1")).isTrue();
+        assertThat(service.isRevoked("jti-2")).isFalse();
+        assertThat(service.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void revoke_alreadyExpiredToken_isNoop() {
+        service.revoke("jti-1", new Date(System.currentTimeMillis() - 1));
+
+        verify(repository, never()).insertIfAbsent(any(), any());
+        assertThat(service.getDenylistSize()).isZero();
+    }
+
+    @Test
+    void load_rebuildsFromTheTable() {
+        when(repository.findActive(any())).thenReturn(List.of(
+                new RevokedToken("jti-1", LocalDateTime.now(ZoneOffset.UTC).plusSeconds(60))));
+
+        service.load();
+
+        assertThat(service.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void purgeExpired_dropsEntriesPastTheirExpiry() throws Exception {
+        service.revoke("short", new Date(System.currentTimeMillis() + 50));
+        service.revoke("long", new Date(System.currentTimeMillis() + 60_000));
+
+        Thread.sleep(100);
+        assertThat(service.isRevoked("short")).isFalse();
+
+        service.purgeExpired();
+
+        verify(repository).deleteExpired(any());
+        assertThat(service.getDenylistSize()).isEqualTo(1);
+        assertThat(service.isRevoked("long")).isTrue();
+    }
+
+    @Test
+    void bloomFilter_hasNoFalseNegativesAndAboutTheSizedFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("revoked-" + i)).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.repository.UserRepository;
+import com.hahn.projectmanager.security.JwtService;
+import com.hahn.projectmanager.security.TokenRevocationService;
+import com.hahn.projectmanager.security.TokenVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class AuthServiceRefreshTest {
+
+    private final JwtService jwtService =
+            new JwtService("test-secret-key-that-is-long-enough-for-hs256", 60_000, 600_000);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AuthService authService = new AuthService(mock(AuthenticationManager.class), jwtService,
+            userRepository, mock(TokenVersionService.class), mock(TokenRevocationService.class));
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(1L)
+                .name("Test")
+                .email("test@mail.com")
+                .password("encoded")
+                .build();
+    }
+
+    @Test
+    void refresh_readsTheTokenVersionPastTheCache() {
+        String refreshToken = jwtService.generateRefreshToken(user);
+        when(userRepository.findUncachedById(1L)).thenReturn(Optional.of(user));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(authService.refresh(refreshToken, response)).isTrue();
+        assertThat(response.getCookie("access_token")).isNotNull();
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void refresh_afterLogoutEverywhere_isRejected() {
+        String refreshToken = jwtService.generateRefreshToken(user);
+        user.setTokenVersion(1);
+        when(userRepository.findUncachedById(1L)).thenReturn(Optional.of(user));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(authService.refresh(refreshToken, response)).isFalse();
+        assertThat(response.getCookie("access_token")).isNull();
+    }
+
+    @Test
+    void refresh_legacyTokenWithoutVersion_isRevokedByLogoutEverywhere() {
+        String legacyToken = jwtService.generateRefreshToken("test@mail.com");
+        when(userRepository.findUncachedByEmail("test@mail.com")).thenReturn(Optional.of(user));
+
+        assertThat(authService.refresh(legacyToken, new MockHttpServletResponse())).isTrue();
+
+        user.setTokenVersion(1);
+        assertThat(authService.refresh(legacyToken, new MockHttpServletResponse())).isFalse();
+    }
+}
@@ -0,0 +1,186 @@
+package com.hahn.projectmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+import com.hahn.projectmanager.dto.event.ChangeType;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ChangeStreamServiceTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    private final ChangeStreamService service = new ChangeStreamService(
+            mock(ProjectRepository.class), new ObjectMapper(),
+            3, 2, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void changes_reachOnlyTheUsersMatchingStreams() throws Exception {
+        CapturingEmitter all = new CapturingEmitter();
+        CapturingEmitter otherProject = new CapturingEmitter();
+        CapturingEmitter otherUser = new CapturingEmitter();
+        service.register(1L, null, null, all);
+        service.register(1L, 20L, null, otherProject);
+        service.register(2L, null, null, otherUser);
+
+        publish(1L, ChangeType.TASK_CREATED, 10L, 5L);
+
+        assertThat(all.next()).contains("event:ready");
+        assertThat(all.next()).contains("event:change", "\"type\":\"TASK_CREATED\"", "\"projectId\":10", "\"taskId\":5");
+        assertThat(otherProject.next()).contains("event:ready");
+        assertThat(otherProject.nextOrNull()).isNull();
+        assertThat(otherUser.next()).contains("event:ready");
+        assertThat(otherUser.nextOrNull()).isNull();
+    }
+
+    @Test
+    void resume_replaysEventsAfterLastEventId() throws Exception {
+        CapturingEmitter first = new CapturingEmitter();
+        service.register(1L, null, null, first);
+        String position = eventId(first.next());
+
+        publish(1L, ChangeType.TASK_CREATED, 10L, 5L);
+        publish(1L, ChangeType.TASK_DELETED, 10L, 6L);
+
+        CapturingEmitter resumed = new CapturingEmitter();
+        service.register(1L, null, position, resumed);
+
+        assertThat(resumed.next()).contains("TASK_CREATED");
+        assertThat(resumed.next()).contains("TASK_DELETED");
+        assertThat(resumed.next()).contains("event:ready");
+    }
+
+    @Test
+    void resume_beyondTheReplayBuffer_orFromAnotherProcess_resets() throws Exception {
+        CapturingEmitter first = new CapturingEmitter();
+        service.register(1L, null, null, first);
+        String position = eventId(first.next());
+
+        // Replay size is 3
+        for (long taskId = 1; taskId <= 4; taskId++) {
+            publish(1L, ChangeType.TASK_UPDATED, 10L, taskId);
+        }
+
+        CapturingEmitter tooLate = new CapturingEmitter();
+        service.register(1L, null, position, tooLate);
+        assertThat(tooLate.next()).contains("event:reset");
+        assertThat(tooLate.next()).contains("event:ready");
+
+        CapturingEmitter restarted = new CapturingEmitter();
+        service.register(1L, null, "otherepoch-1", restarted);
+        assertThat(restarted.next()).contains("event:reset");
+    }
+
+    @Test
+    void slowConsumer_isDisconnectedInsteadOfBuffered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter slow = new CapturingEmitter(release);
+        service.register(1L, null, null, slow);
+
+        // The ready event blocks the send; the queue holds 2 more
+        for (long taskId = 1; taskId <= 4; taskId++) {
+            publish(1L, ChangeType.TASK_UPDATED, 10L, taskId);
+        }
+
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    void blockedSend_doesNotHoldUpOtherSubscribers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter stuck = new CapturingEmitter(release);
+        CapturingEmitter other = new CapturingEmitter();
+        service.register(1L, null, null, stuck);
+        service.register(1L, null, null, other);
+
+        try {
+            assertThat(other.next()).contains("event:ready");
+
+            // One at a time, so only the stuck subscriber's queue fills up
+            for (long taskId = 1; taskId <= 2; taskId++) {
+                publish(1L, ChangeType.TASK_UPDATED, 10L, taskId);
+                assertThat(other.next()).contains("\"taskId\":" + taskId);
+            }
+            assertThat(stuck.nextOrNull()).isNull();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    // Helper methods
+    private void publish(Long userId, ChangeType type, Long projectId, Long taskId) {
+        service.onEntityChanged(new EntityChangedEvent(userId, new ChangeEvent(type, projectId, taskId)));
+    }
+
+    private static String eventId(String event) {
+        Matcher matcher = EVENT_ID.matcher(event);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+
+    /**
+     * Records what would be written to the response, optionally blocking like a full socket.
+     */
+    private static final class CapturingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        CapturingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        CapturingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                throw new IOException(ex);
+            }
+
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(data -> event.append(data.getData()));
+            sent.add(event.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(5, TimeUnit.SECONDS);
+            assertThat(event).isNotNull();
+            return event;
+        }
+
+        String nextOrNull() throws InterruptedException {
+            return sent.poll(200, TimeUnit.MILLISECONDS);
+        }
+    }
+}
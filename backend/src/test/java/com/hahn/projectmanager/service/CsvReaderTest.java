@@ -0,0 +1,51 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.exception.InvalidImportException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void next_splitsPlainRecords() throws Exception {
+        CsvReader csv = new CsvReader(new StringReader("title,completed\r\nWrite docs,true\n"));
+
+        assertThat(csv.next()).containsExactly("title", "completed");
+        assertThat(csv.next()).containsExactly("Write docs", "true");
+        assertThat(csv.recordLine()).isEqualTo(2);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void next_handlesQuotesAndEmbeddedLineBreaks() throws Exception {
+        CsvReader csv = new CsvReader(new StringReader("\"a, \"\"b\"\"\",\"line1\nline2\",\nlast,x,y"));
+
+        assertThat(csv.next()).containsExactly("a, \"b\"", "line1\nline2", "");
+        assertThat(csv.next()).containsExactly("last", "x", "y");
+        assertThat(csv.recordLine()).isEqualTo(3);
+    }
+
+    @Test
+    void next_unterminatedQuote_isRejected() {
+        CsvReader csv = new CsvReader(new StringReader("\"never closed,1\n"));
+
+        assertThatThrownBy(csv::next)
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("line 1");
+    }
+
+    @Test
+    void next_tooManyFields_isRejected() throws Exception {
+        CsvReader csv = new CsvReader(new StringReader(
+                ",".repeat(CsvReader.MAX_FIELDS - 1) + "\n" + ",".repeat(CsvReader.MAX_FIELDS) + "\n"));
+
+        assertThat(csv.next()).hasSize(CsvReader.MAX_FIELDS);
+        assertThatThrownBy(csv::next)
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("line 2");
+    }
+}
@@ -0,0 +1,75 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.dto.dashboard.DashboardResponse;
+import com.hahn.projectmanager.dto.dashboard.ProjectDashboardItem;
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+import com.hahn.projectmanager.dto.event.ChangeType;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import com.hahn.projectmanager.security.JwtUserPrincipal;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+    private static final JwtUserPrincipal USER = new JwtUserPrincipal(1L, "Test", "test@mail.com", 0);
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final DashboardService service = new DashboardService(projectRepository, Duration.ofMinutes(1), 100);
+
+    @Test
+    void getDashboard_rollsUpEveryProject() {
+        when(projectRepository.findDashboard(eq(1L), any(), any())).thenReturn(List.of(
+                new ProjectDashboardItem(10L, "A", 4L, 1L, 2L, 1L),
+                new ProjectDashboardItem(11L, "B", 0L, 0L, 0L, 0L)));
+
+        DashboardResponse dashboard = service.getDashboard(USER);
+
+        assertThat(dashboard.totalProjects()).isEqualTo(2);
+        assertThat(dashboard.totalTasks()).isEqualTo(4);
+        assertThat(dashboard.completedTasks()).isEqualTo(1);
+        assertThat(dashboard.overdueTasks()).isEqualTo(2);
+        assertThat(dashboard.dueThisWeekTasks()).isEqualTo(1);
+        assertThat(dashboard.progressPercentage()).isEqualTo(25);
+        assertThat(dashboard.projects()).extracting(ProjectDashboardItem::progressPercentage).containsExactly(25, 0);
+    }
+
+    @Test
+    void getDashboard_isCachedUntilTheUserChangesSomething() {
+        when(projectRepository.findDashboard(eq(1L), any(), any())).thenReturn(List.of());
+
+        service.getDashboard(USER);
+        service.getDashboard(USER);
+        verify(projectRepository, times(1)).findDashboard(eq(1L), any(), any());
+
+        service.onEntityChanged(new EntityChangedEvent(2L, new ChangeEvent(ChangeType.TASK_CREATED, 20L, 5L)));
+        service.getDashboard(USER);
+        verify(projectRepository, times(1)).findDashboard(eq(1L), any(), any());
+
+        service.onEntityChanged(new EntityChangedEvent(1L, new ChangeEvent(ChangeType.TASK_CREATED, 10L, 5L)));
+        service.getDashboard(USER);
+        verify(projectRepository, times(2)).findDashboard(eq(1L), any(), any());
+    }
+
+    @Test
+    void getDashboard_readOverlappingACommit_isNotCachedOverIt() {
+        when(projectRepository.findDashboard(eq(1L), any(), any())).thenAnswer(invocation -> {
+            // The user's change commits while the query runs
+            service.onEntityChanged(new EntityChangedEvent(1L, new ChangeEvent(ChangeType.TASK_CREATED, 10L, 5L)));
+            return List.of();
+        }).thenReturn(List.of());
+
+        service.getDashboard(USER);
+        service.getDashboard(USER);
+        service.getDashboard(USER);
+
+        // The first result predates the change and was dropped; the second was cached
+        verify(projectRepository, times(2)).findDashboard(eq(1L), any(), any());
+    }
+}
@@ -0,0 +1,73 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ETagsTest {
+
+    @Test
+    void checkIfMatch_withoutHeader_isNoPrecondition() {
+        assertThatCode(() -> ETags.checkIfMatch(null, "\"t1\"")).doesNotThrowAnyException();
+        assertThatCode(() -> ETags.checkIfMatch(" ", "\"t1\"")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkIfMatch_acceptsWildcardAndListedTags() {
+        assertThatCode(() -> ETags.checkIfMatch("*", "\"t1\"")).doesNotThrowAnyException();
+        assertThatCode(() -> ETags.checkIfMatch("\"t0\", \"t1\"", "\"t1\"")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkIfMatch_rejectsStaleAndWeakTags() {
+        assertThatThrownBy(() -> ETags.checkIfMatch("\"t0\"", "\"t1\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> ETags.checkIfMatch("W/\"t1\"", "\"t1\""))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void checkIfMatch_acceptsTagsOfBinaryRepresentations() {
+        assertThatCode(() -> ETags.checkIfMatch("\"t1+cbor\"", "\"t1\"")).doesNotThrowAnyException();
+        assertThatCode(() -> ETags.checkIfMatch("\"t0\", \"p1.2+smile\"", "\"p1.2\"")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkIfMatch_rejectsStaleAndWeakTagsOfBinaryRepresentations() {
+        assertThatThrownBy(() -> ETags.checkIfMatch("\"t0+cbor\"", "\"t1\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> ETags.checkIfMatch("W/\"t1+cbor\"", "\"t1\""))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void project_changesWithTaskVersion() {
+        assertThat(ETags.project(2, 7)).isEqualTo("\"p2.7\"").isNotEqualTo(ETags.project(2, 8));
+    }
+
+    @Test
+    void forAccept_tagsTheFormatThatIsNegotiated() {
+        assertThat(ETags.forAccept("\"p1.2\"", "application/cbor")).isEqualTo("\"p1.2+cbor\"");
+        assertThat(ETags.forAccept("\"p1.2\"", "application/x-jackson-smile")).isEqualTo("\"p1.2+smile\"");
+        assertThat(ETags.forAccept("\"p1.2\"", "*/*")).isEqualTo("\"p1.2\"");
+        assertThat(ETags.forAccept("\"p1.2\"", "application/json;q=0.5, application/cbor;q=0.9")).isEqualTo("\"p1.2+cbor\"");
+    }
+
+    @Test
+    void forAccept_lowQualityBinaryRange_staysJson() {
+        assertThat(ETags.forAccept("\"p1.2\"", "application/json, application/cbor;q=0.1")).isEqualTo("\"p1.2\"");
+        assertThat(ETags.forAccept("\"p1.2\"", "application/json;q=0.5, */*;q=0.9")).isEqualTo("\"p1.2\"");
+    }
+
+    @Test
+    void matchesNoneMatch_comparesWeakly() {
+        assertThat(ETags.matchesNoneMatch("W/\"t1\", \"t2\"", "\"t1\"")).isTrue();
+        assertThat(ETags.matchesNoneMatch("*", "\"t1\"")).isTrue();
+        assertThat(ETags.matchesNoneMatch("\"t0\"", "\"t1\"")).isFalse();
+        assertThat(ETags.matchesNoneMatch(null, "\"t1\"")).isFalse();
+        assertThat(ETags.matchesNoneMatch("*", null)).isFalse();
+    }
+}
@@ -0,0 +1,149 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.dto.event.ChangeType;
+import com.hahn.projectmanager.dto.project.ProjectDeletionState;
+import com.hahn.projectmanager.dto.project.ProjectDeletionStatus;
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.exception.ProjectBeingDeletedException;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import com.hahn.projectmanager.security.JwtUserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class ProjectDeletionServiceTest {
+
+    private static final JwtUserPrincipal USER = new JwtUserPrincipal(1L, "Test", "test@mail.com", 0);
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ProjectDeletionService service = new ProjectDeletionService(projectRepository, eventPublisher,
+            mock(PlatformTransactionManager.class), 2, Duration.ofMinutes(1), 1, 100);
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = Project.builder()
+                .id(10L)
+                .title("Project")
+                .owner(User.builder().id(1L).build())
+                .build();
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void deleteProject_deletesTasksInChunksThenTheProject() {
+        when(projectRepository.deleteTaskChunk(10L, 2)).thenReturn(2, 1, 0);
+
+        ProjectDeletionStatus status = service.deleteProject(10L, null, false, USER);
+
+        assertThat(status.state()).isEqualTo(ProjectDeletionState.COMPLETED);
+        assertThat(status.deletedTasks()).isEqualTo(3);
+        assertThat(status.progressPercentage()).isEqualTo(100);
+        // The last call is the sweep under the row lock
+        verify(projectRepository, times(4)).deleteTaskChunk(10L, 2);
+        verify(projectRepository).deleteProjectRow(10L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EntityChangedEvent changed
+                && changed.change().type() == ChangeType.PROJECT_DELETED));
+    }
+
+    @Test
+    void deleteProject_async_reportsProgressUntilDone() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(projectRepository.deleteTaskChunk(10L, 2)).thenAnswer(invocation -> {
+            release.await();
+            return 0;
+        });
+
+        ProjectDeletionStatus started = service.deleteProject(10L, null, true, USER);
+        assertThat(started.state()).isEqualTo(ProjectDeletionState.RUNNING);
+        assertThatThrownBy(() -> service.checkNotDeleting(10L)).isInstanceOf(ProjectBeingDeletedException.class);
+
+        // A second request joins the running deletion
+        assertThat(service.deleteProject(10L, null, true, USER).state()).isEqualTo(ProjectDeletionState.RUNNING);
+        assertThatThrownBy(() -> service.getDeletionStatus(10L, new JwtUserPrincipal(2L, "Other", "o@mail.com", 0)))
+                .isInstanceOf(AccessDeniedException.class);
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.getDeletionStatus(10L, USER).state() == ProjectDeletionState.RUNNING
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(service.getDeletionStatus(10L, USER).state()).isEqualTo(ProjectDeletionState.COMPLETED);
+        verify(projectRepository, times(1)).deleteProjectRow(10L);
+        service.checkNotDeleting(10L);
+    }
+
+    @Test
+    void deleteProject_tasksAddedDuringTheChunks_areSweptUnderTheRowLock() {
+        // The chunks find 2 tasks, 1 more was committed before the lock
+        when(projectRepository.deleteTaskChunk(10L, 2)).thenReturn(2, 0, 1, 0);
+
+        ProjectDeletionStatus status = service.deleteProject(10L, null, false, USER);
+
+        assertThat(status.deletedTasks()).isEqualTo(3);
+        InOrder inOrder = inOrder(projectRepository);
+        inOrder.verify(projectRepository, times(2)).deleteTaskChunk(10L, 2);
+        inOrder.verify(projectRepository).lockProjectRow(10L);
+        inOrder.verify(projectRepository, times(2)).deleteTaskChunk(10L, 2);
+        inOrder.verify(projectRepository).deleteProjectRow(10L);
+    }
+
+    @Test
+    void deleteProject_overTheAsyncThreshold_runsInTheBackground() {
+        // Counters are only ever set by SQL
+        ReflectionTestUtils.setField(project, "totalTasks", 101);
+        CountDownLatch release = new CountDownLatch(1);
+        when(projectRepository.deleteTaskChunk(10L, 2)).thenAnswer(invocation -> {
+            release.await();
+            return 0;
+        });
+
+        try {
+            assertThat(service.deleteProject(10L, null, false, USER).state()).isEqualTo(ProjectDeletionState.RUNNING);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void deleteProject_failure_isReportedAndCanBeRetried() {
+        when(projectRepository.deleteTaskChunk(10L, 2))
+                .thenReturn(2)
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(0);
+
+        assertThatThrownBy(() -> service.deleteProject(10L, null, false, USER))
+                .isInstanceOf(QueryTimeoutException.class);
+        assertThat(service.getDeletionStatus(10L, USER).state()).isEqualTo(ProjectDeletionState.FAILED);
+        verify(projectRepository, never()).deleteProjectRow(any());
+
+        assertThat(service.deleteProject(10L, null, false, USER).state()).isEqualTo(ProjectDeletionState.COMPLETED);
+    }
+}
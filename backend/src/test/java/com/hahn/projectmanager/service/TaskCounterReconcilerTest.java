@@ -0,0 +1,37 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskCounterReconcilerTest {
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TaskCounterReconciler reconciler =
+            new TaskCounterReconciler(projectRepository, transactionManager, 10);
+
+    @Test
+    void reconcile_locksEachRangeBeforeCountingIt() {
+        when(projectRepository.findMaxId()).thenReturn(15L);
+        when(projectRepository.reconcileTaskCounters(0, 10)).thenReturn(2);
+        when(projectRepository.reconcileTaskCounters(10, 20)).thenReturn(1);
+
+        assertThat(reconciler.reconcile()).isEqualTo(3);
+
+        InOrder inOrder = inOrder(transactionManager, projectRepository);
+        for (long fromId = 0; fromId < 20; fromId += 10) {
+            inOrder.verify(transactionManager).getTransaction(any());
+            inOrder.verify(projectRepository).lockIdRange(fromId, fromId + 10);
+            inOrder.verify(projectRepository).reconcileTaskCounters(fromId, fromId + 10);
+            inOrder.verify(transactionManager).commit(any());
+        }
+    }
+}
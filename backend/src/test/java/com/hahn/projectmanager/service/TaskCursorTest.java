@@ -0,0 +1,49 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.entity.Task;
+import com.hahn.projectmanager.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCursorTest {
+
+    @Test
+    void blankCursor_startsFromTheBeginning() {
+        TaskCursor cursor = TaskCursor.decode("", "id,asc");
+
+        assertThat(cursor.sortKey()).isEqualTo(TaskCursor.SortKey.ID);
+        assertThat(cursor.id()).isZero();
+    }
+
+    @Test
+    void encodeThenDecode_roundTrips() {
+        Task task = Task.builder()
+                .id(42L)
+                .title("Write: the report")
+                .build();
+
+        String encoded = TaskCursor.after(TaskCursor.SortKey.TITLE, task).encode();
+        TaskCursor decoded = TaskCursor.decode(encoded, "title");
+
+        assertThat(decoded.sortKey()).isEqualTo(TaskCursor.SortKey.TITLE);
+        assertThat(decoded.value()).isEqualTo("Write: the report");
+        assertThat(decoded.id()).isEqualTo(42L);
+    }
+
+    @Test
+    void cursorForAnotherSort_isRejected() {
+        Task task = Task.builder().id(7L).title("Task").build();
+        String encoded = TaskCursor.after(TaskCursor.SortKey.ID, task).encode();
+
+        assertThatThrownBy(() -> TaskCursor.decode(encoded, "title"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void garbageCursor_isRejected() {
+        assertThatThrownBy(() -> TaskCursor.decode("not-a-cursor", "id"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
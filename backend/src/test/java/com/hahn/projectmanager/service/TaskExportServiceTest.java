@@ -0,0 +1,98 @@
+package com.hahn.projectmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.projectmanager.dto.task.TaskDataFormat;
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TaskExportServiceTest {
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final ResultSet rs = mock(ResultSet.class);
+
+    private final TaskExportService service = new TaskExportService(
+            projectRepository, dataSource, transactionManager, new ObjectMapper(), 500);
+
+    private final User owner = User.builder().id(1L).email("owner@mail.com").build();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+
+        Connection connection = mock(Connection.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(rs);
+
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getLong("id")).thenReturn(1L, 2L);
+        when(rs.getString("title")).thenReturn("Plain", "Say \"hi\"");
+        when(rs.getString("description")).thenReturn(null, "a,b");
+        when(rs.getDate("due_date")).thenReturn(Date.valueOf(LocalDate.of(2026, 1, 31)), (Date) null);
+        when(rs.getBoolean("completed")).thenReturn(false, true);
+    }
+
+    @Test
+    void exportTasks_ndjson_writesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportTasks(10L, TaskDataFormat.NDJSON, owner).writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"title\":\"Plain\",\"description\":null,\"dueDate\":\"2026-01-31\",\"completed\":false}\n"
+                        + "{\"id\":2,\"title\":\"Say \\\"hi\\\"\",\"description\":\"a,b\",\"dueDate\":null,\"completed\":true}\n");
+        verify(statement).setFetchSize(500);
+    }
+
+    @Test
+    void exportTasks_csv_quotesTextColumns() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportTasks(10L, TaskDataFormat.CSV, owner).writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,title,description,dueDate,completed
+                1,"Plain",,2026-01-31,false
+                2,"Say ""hi\""","a,b",,true
+                """);
+    }
+
+    @Test
+    void exportTasks_projectOfAnotherUser_isForbiddenBeforeQuerying() {
+        User other = User.builder().id(2L).email("other@mail.com").build();
+
+        assertThatThrownBy(() -> service.exportTasks(10L, TaskDataFormat.CSV, other))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(dataSource);
+    }
+}
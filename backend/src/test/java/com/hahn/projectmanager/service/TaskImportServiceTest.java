@@ -0,0 +1,162 @@
+package com.hahn.projectmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.projectmanager.dto.task.TaskDataFormat;
+import com.hahn.projectmanager.dto.task.TaskImportRow;
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.exception.InvalidImportException;
+import com.hahn.projectmanager.exception.ResourceNotFoundException;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TaskImportServiceTest {
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final DataSource dataSource = mock(DataSource.class);
+
+    private final TaskImportService service = new TaskImportService(
+            projectRepository, dataSource, new ObjectMapper(), mock(ApplicationEventPublisher.class),
+            mock(ProjectDeletionService.class),
+            System.getProperty("java.io.tmpdir"), Duration.ofHours(1));
+
+    private final User owner = User.builder().id(1L).email("owner@mail.com").build();
+    private final User other = User.builder().id(2L).email("other@mail.com").build();
+
+    @Test
+    void validate_acceptsMinimalRow() {
+        assertThat(TaskImportService.validate(new TaskImportRow("Title", null, null, null))).isNull();
+    }
+
+    @Test
+    void validate_rejectsBlankOrOversizedTitle() {
+        assertThat(TaskImportService.validate(new TaskImportRow(" ", null, null, null)))
+                .startsWith("title");
+        assertThat(TaskImportService.validate(new TaskImportRow("x".repeat(256), null, null, null)))
+                .startsWith("title");
+        assertThat(TaskImportService.validate(null)).startsWith("title");
+    }
+
+    @Test
+    void importTasks_projectOfAnotherUser_isForbiddenBeforeCopy() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+
+        assertThatThrownBy(() -> service.importTasks(
+                10L, TaskDataFormat.CSV, new ByteArrayInputStream(new byte[0]), other))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void getErrorReport_malformedId_isNotFound() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+
+        assertThatThrownBy(() -> service.getErrorReport(10L, "../../etc/passwd", owner))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void importTasks_takesIdsInSequenceBlocksAcrossCopySegments() throws Exception {
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(Project.builder().id(10L).owner(owner).build()));
+        // One block for the first segment, then two
+        List<StringBuilder> segments = mockCopy(new long[]{100}, new long[]{250, 400});
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < TaskImportService.ID_BLOCK_SIZE + 2; i++) {
+            ndjson.append("{\"title\":\"Task ").append(i).append("\"}\n");
+        }
+
+        assertThat(service.importTasks(10L, TaskDataFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), owner).imported())
+                .isEqualTo(TaskImportService.ID_BLOCK_SIZE + 2);
+
+        assertThat(segments).hasSize(2);
+        String[] first = segments.get(0).toString().split("\n");
+        assertThat(first).hasSize(TaskImportService.ID_BLOCK_SIZE);
+        assertThat(first[0]).startsWith("51,");
+        assertThat(first[first.length - 1]).startsWith("100,");
+        assertThat(segments.get(1).toString().split("\n"))
+                .extracting(row -> row.substring(0, row.indexOf(',')))
+                .containsExactly("201", "202");
+    }
+
+    @Test
+    void importTasks_overlongNdjsonLine_isRejected() throws Exception {
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(Project.builder().id(10L).owner(owner).build()));
+        mockCopy(new long[]{50});
+
+        byte[] body = ("{\"title\":\"ok\"}\n{\"title\":\"" + "x".repeat(TaskImportService.MAX_LINE_LENGTH) + "\"}\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> service.importTasks(10L, TaskDataFormat.NDJSON, new ByteArrayInputStream(body), owner))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("Line 2");
+    }
+
+    // Helper methods
+    private List<StringBuilder> mockCopy(long[]... reservedBlocks) throws Exception {
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        Deque<long[]> blocks = new ArrayDeque<>(Arrays.asList(reservedBlocks));
+        when(statement.executeQuery()).thenAnswer(invocation -> resultSet(blocks.pop()));
+
+        List<StringBuilder> segments = new ArrayList<>();
+        when(copyManager.copyIn(anyString())).thenAnswer(invocation -> {
+            StringBuilder data = new StringBuilder();
+            segments.add(data);
+            CopyIn copyIn = mock(CopyIn.class);
+            doAnswer(write -> data.append(new String(write.getArgument(0, byte[].class),
+                    write.getArgument(1, Integer.class), write.getArgument(2, Integer.class), StandardCharsets.UTF_8)))
+                    .when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+            when(copyIn.getHandledRowCount()).thenAnswer(count -> data.chars().filter(c -> c == '\n').count());
+            return copyIn;
+        });
+        return segments;
+    }
+
+    private static ResultSet resultSet(long[] values) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        int[] row = {-1};
+        when(rs.next()).thenAnswer(invocation -> ++row[0] < values.length);
+        when(rs.getLong(1)).thenAnswer(invocation -> values[row[0]]);
+        return rs;
+    }
+}
@@ -0,0 +1,355 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.dto.event.ChangeEvent;
+import com.hahn.projectmanager.dto.event.ChangeType;
+import com.hahn.projectmanager.dto.page.CursorPage;
+import com.hahn.projectmanager.dto.task.CreateTaskRequest;
+import com.hahn.projectmanager.dto.task.DueTaskResponse;
+import com.hahn.projectmanager.dto.task.TaskBatchOperation;
+import com.hahn.projectmanager.dto.task.TaskBatchOperationType;
+import com.hahn.projectmanager.dto.task.TaskBatchRequest;
+import com.hahn.projectmanager.dto.task.TaskBatchResponse;
+import com.hahn.projectmanager.dto.task.TaskBatchResult;
+import com.hahn.projectmanager.dto.task.TaskResponse;
+import com.hahn.projectmanager.dto.task.TaskSearchMode;
+import com.hahn.projectmanager.dto.task.UpdateTaskRequest;
+import com.hahn.projectmanager.entity.Project;
+import com.hahn.projectmanager.entity.Task;
+import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.exception.InvalidCursorException;
+import com.hahn.projectmanager.exception.PreconditionFailedException;
+import com.hahn.projectmanager.exception.ProjectBeingDeletedException;
+import com.hahn.projectmanager.exception.TaskNotFoundException;
+import com.hahn.projectmanager.repository.ProjectRepository;
+import com.hahn.projectmanager.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    TaskRepository taskRepository;
+
+    @Mock
+    ProjectRepository projectRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    ProjectDeletionService projectDeletionService;
+
+    @InjectMocks
+    TaskService taskService;
+
+    private final User owner = User.builder().id(1L).email("test@mail.com").build();
+
+    @Test
+    void toPrefixQuery_makesEveryWordAPrefix() {
+        assertThat(TaskService.toPrefixQuery("Fix  log-in"))
+                .isEqualTo("fix:* & log:* & in:*");
+    }
+
+    @Test
+    void toPrefixQuery_dropsTsQueryOperators() {
+        assertThat(TaskService.toPrefixQuery("a&b | !c:*"))
+                .isEqualTo("a:* & b:* & c:*");
+    }
+
+    @Test
+    void getTasks_fullText_usesRankedSearch() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        Task task = Task.builder().id(5L).title("Fix login").project(project).build();
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(taskRepository.fullTextSearchTasks(eq(10L), isNull(), eq("fix:* & log:*"), any()))
+                .thenReturn(new PageImpl<>(List.of(task)));
+
+        Page<TaskResponse> page = taskService.getTasks(
+                10L, null, "fix log", TaskSearchMode.FULLTEXT, PageRequest.of(0, 20), owner);
+
+        assertThat(page.getContent()).extracting(TaskResponse::title).containsExactly("Fix login");
+    }
+
+    @Test
+    void getTasks_fullTextWithoutWords_returnsEmptyPage() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+
+        Page<TaskResponse> page = taskService.getTasks(
+                10L, null, "!!", TaskSearchMode.FULLTEXT, PageRequest.of(0, 20), owner);
+
+        assertThat(page.getContent()).isEmpty();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void createTask_incrementsProjectTotal() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+
+        taskService.createTask(10L, new CreateTaskRequest("Task", null, null), owner);
+
+        verify(projectRepository).adjustTaskCounters(10L, 1, 0);
+        verify(eventPublisher).publishEvent(
+                new EntityChangedEvent(1L, new ChangeEvent(ChangeType.TASK_CREATED, 10L, null)));
+    }
+
+    @Test
+    void createTask_whileTheProjectIsBeingDeleted_isRejected() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        doThrow(new ProjectBeingDeletedException(10L)).when(projectDeletionService).checkNotDeleting(10L);
+
+        assertThatThrownBy(() -> taskService.createTask(10L, new CreateTaskRequest("Task", null, null), owner))
+                .isInstanceOf(ProjectBeingDeletedException.class);
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void toggleCompletion_toSameState_leavesCountersAlone() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        Task task = Task.builder().id(5L).title("Task").completed(true).project(project).build();
+
+        when(taskRepository.findOwnedTask(5L, 10L, 1L)).thenReturn(Optional.of(task));
+
+        taskService.toggleCompletion(10L, 5L, true, null, owner);
+
+        verify(projectRepository, never()).adjustTaskCounters(anyLong(), anyInt(), anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void toggleCompletion_uncompleting_decrementsCompleted() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        Task task = Task.builder().id(5L).title("Task").completed(true).project(project).build();
+
+        when(taskRepository.findOwnedTask(5L, 10L, 1L)).thenReturn(Optional.of(task));
+
+        taskService.toggleCompletion(10L, 5L, false, null, owner);
+
+        verify(projectRepository).adjustTaskCounters(10L, 0, -1);
+    }
+
+    @Test
+    void deleteTask_completed_decrementsBothCounters() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        Task task = Task.builder().id(5L).title("Task").completed(true).project(project).build();
+
+        when(taskRepository.findOwnedTask(5L, 10L, 1L)).thenReturn(Optional.of(task));
+
+        taskService.deleteTask(10L, 5L, null, owner);
+
+        verify(taskRepository).delete(task);
+        verify(projectRepository).adjustTaskCounters(10L, -1, -1);
+    }
+
+    @Test
+    void updateTask_bumpsTaskListVersion() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        Task task = Task.builder().id(5L).title("Task").project(project).build();
+
+        when(taskRepository.findOwnedTask(5L, 10L, 1L)).thenReturn(Optional.of(task));
+
+        taskService.updateTask(10L, 5L, new UpdateTaskRequest("Renamed", null, null), ETags.task(task), owner);
+
+        assertThat(task.getTitle()).isEqualTo("Renamed");
+        verify(projectRepository).touchTasks(10L);
+    }
+
+    @Test
+    void deleteTask_staleIfMatch_isRejected() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        Task task = Task.builder().id(5L).title("Task").project(project).build();
+
+        when(taskRepository.findOwnedTask(5L, 10L, 1L)).thenReturn(Optional.of(task));
+
+        assertThatThrownBy(() -> taskService.deleteTask(10L, 5L, "\"t41\"", owner))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        verify(taskRepository, never()).delete(any());
+        verify(projectRepository, never()).adjustTaskCounters(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTasksEtag_changesWithTasksVersionAndQuery() {
+        when(projectRepository.findTasksVersion(10L, 1L)).thenReturn(Optional.of(3L), Optional.of(3L), Optional.of(4L));
+
+        String first = taskService.getTasksEtag(10L, owner, true, "fix");
+        String otherQuery = taskService.getTasksEtag(10L, owner, false, "fix");
+        String afterChange = taskService.getTasksEtag(10L, owner, true, "fix");
+
+        assertThat(first).isNotEqualTo(otherQuery).isNotEqualTo(afterChange);
+    }
+
+    @Test
+    void getTaskById_ownedTask_isResolvedInOneQuery() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        Task task = Task.builder().id(5L).title("Task").project(project).build();
+
+        when(taskRepository.findOwnedTask(5L, 10L, 1L)).thenReturn(Optional.of(task));
+
+        assertThat(taskService.getTaskById(10L, 5L, owner).id()).isEqualTo(5L);
+        verifyNoInteractions(projectRepository);
+    }
+
+    @Test
+    void getTaggedTask_tagsTheVersionThatWasMapped() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        Task task = Task.builder().id(5L).title("Task").project(project).build();
+
+        when(taskRepository.findOwnedTask(5L, 10L, 1L)).thenReturn(Optional.of(task));
+
+        ETags.Tagged<TaskResponse> tagged = taskService.getTaggedTask(10L, 5L, owner);
+        assertThat(tagged.body().title()).isEqualTo("Task");
+        assertThat(tagged.etag()).isEqualTo(ETags.task(task));
+    }
+
+    @Test
+    void getTaskById_projectOfAnotherUser_isForbidden() {
+        User other = User.builder().id(2L).build();
+        Project project = Project.builder().id(10L).owner(other).build();
+
+        when(taskRepository.findOwnedTask(5L, 10L, 1L)).thenReturn(Optional.empty());
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+
+        assertThatThrownBy(() -> taskService.getTaskById(10L, 5L, owner))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void getTaskById_missingTask_isNotFound() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+
+        when(taskRepository.findOwnedTask(5L, 10L, 1L)).thenReturn(Optional.empty());
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(taskRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.getTaskById(10L, 5L, owner))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void applyBatch_mixedOperations_adjustsCountersOnce() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        Task open = Task.builder().id(5L).title("Open").completed(false).project(project).build();
+        Task done = Task.builder().id(6L).title("Done").completed(true).project(project).build();
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(taskRepository.findByProjectIdAndIdIn(10L, Set.of(5L, 6L))).thenReturn(List.of(open, done));
+
+        TaskBatchResponse response = taskService.applyBatch(10L, new TaskBatchRequest(List.of(
+                new TaskBatchOperation(TaskBatchOperationType.CREATE, null, "New", null, null, null),
+                new TaskBatchOperation(TaskBatchOperationType.CREATE, null, "Other", null, null, null),
+                new TaskBatchOperation(TaskBatchOperationType.TOGGLE, 5L, null, null, null, true),
+                new TaskBatchOperation(TaskBatchOperationType.DELETE, 6L, null, null, null, null)
+        )), owner);
+
+        assertThat(response.succeeded()).isEqualTo(4);
+        assertThat(response.results()).extracting(TaskBatchResult::status).containsExactly(201, 201, 200, 204);
+        assertThat(open.isCompleted()).isTrue();
+        verify(taskRepository).delete(done);
+        verify(projectRepository).adjustTaskCounters(10L, 1, 0);
+    }
+
+    @Test
+    void applyBatch_badItems_failIndividually() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(taskRepository.findByProjectIdAndIdIn(10L, Set.of(7L, 8L))).thenReturn(List.of());
+        when(taskRepository.findExistingIds(Set.of(7L, 8L))).thenReturn(List.of(8L));
+
+        TaskBatchResponse response = taskService.applyBatch(10L, new TaskBatchRequest(List.of(
+                new TaskBatchOperation(TaskBatchOperationType.CREATE, null, " ", null, null, null),
+                new TaskBatchOperation(TaskBatchOperationType.UPDATE, 7L, "Title", null, null, null),
+                new TaskBatchOperation(TaskBatchOperationType.DELETE, 8L, null, null, null, null)
+        )), owner);
+
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.results()).extracting(TaskBatchResult::status).containsExactly(400, 404, 403);
+        verify(projectRepository, never()).adjustTaskCounters(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void applyBatch_overlongTitle_failsOnlyThatItem() {
+        Project project = Project.builder().id(10L).owner(owner).build();
+        String longTitle = "x".repeat(256);
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+
+        TaskBatchResponse response = taskService.applyBatch(10L, new TaskBatchRequest(List.of(
+                new TaskBatchOperation(TaskBatchOperationType.CREATE, null, longTitle, null, null, null),
+                new TaskBatchOperation(TaskBatchOperationType.UPDATE, 7L, longTitle, null, null, null),
+                new TaskBatchOperation(TaskBatchOperationType.CREATE, null, "x".repeat(255), null, null, null)
+        )), owner);
+
+        assertThat(response.results()).extracting(TaskBatchResult::status).containsExactly(400, 400, 201);
+        assertThat(response.results().get(0).error()).isEqualTo("title: must be at most 255 characters");
+    }
+
+    @Test
+    void getDueTasks_pagesByDueDateThenId() {
+        LocalDate from = LocalDate.of(2026, 10, 1);
+        LocalDate to = LocalDate.of(2026, 10, 31);
+        DueTaskResponse first = new DueTaskResponse(7L, 10L, "A", "First", from.plusDays(2), false);
+        DueTaskResponse second = new DueTaskResponse(3L, 11L, "B", "Second", from.plusDays(5), false);
+
+        when(taskRepository.findDuePageAfter(eq(1L), isNull(), eq(from), eq(0L), eq(to), any()))
+                .thenReturn(List.of(first, second));
+
+        CursorPage<DueTaskResponse> page = taskService.getDueTasks(from, to, null, "", 1, owner);
+
+        assertThat(page.content()).containsExactly(first);
+        assertThat(page.hasNext()).isTrue();
+
+        // The next page seeks past (due date, id) of the last row
+        when(taskRepository.findDuePageAfter(eq(1L), isNull(), eq(from.plusDays(2)), eq(7L), eq(to), any()))
+                .thenReturn(List.of(second));
+
+        CursorPage<DueTaskResponse> next = taskService.getDueTasks(from, to, null, page.nextCursor(), 1, owner);
+
+        assertThat(next.content()).containsExactly(second);
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void getDueTasks_rejectsCursorOfAnotherListing() {
+        String idCursor = TaskCursor.first(TaskCursor.SortKey.ID).encode();
+
+        assertThatThrownBy(() -> taskService.getDueTasks(
+                LocalDate.now(), LocalDate.now(), null, idCursor, 20, owner))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(taskRepository);
+    }
+}
@@ -0,0 +1,99 @@
+package com.hahn.projectmanager.service;
+
+import com.hahn.projectmanager.dto.auth.RegisterRequest;
+import com.hahn.projectmanager.dto.user.BulkUserRequest;
+import com.hahn.projectmanager.dto.user.BulkUserResponse;
+import com.hahn.projectmanager.entity.User;
+import com.hahn.projectmanager.exception.AccessDeniedException;
+import com.hahn.projectmanager.exception.PasswordHashingBusyException;
+import com.hahn.projectmanager.repository.UserRepository;
+import com.hahn.projectmanager.security.BoundedPasswordEncoder;
+import com.hahn.projectmanager.security.JwtUserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class UserProvisioningServiceTest {
+
+    private static final JwtUserPrincipal ADMIN = new JwtUserPrincipal(1L, "Admin", "admin@mail.com", 0);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final BoundedPasswordEncoder passwordEncoder =
+            new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 2, null);
+    private final UserProvisioningService service = new UserProvisioningService(
+            userRepository, passwordEncoder, 2, 2, Set.of("admin@mail.com"));
+
+    @AfterEach
+    void shutdown() {
+        passwordEncoder.close();
+    }
+
+    @Test
+    void provision_hashesAndInsertsInBatches_reportingSkippedEmails() {
+        List<List<User>> batches = new ArrayList<>();
+        when(userRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<User> batch = List.copyOf(invocation.getArgument(0));
+            batches.add(batch);
+            return batch.stream()
+                    .map(User::getEmail)
+                    .filter(email -> !email.equals("taken@mail.com"))
+                    .collect(Collectors.toSet());
+        });
+
+        BulkUserResponse response = service.provision(new BulkUserRequest(List.of(
+                user("a@mail.com"), user("b@mail.com"), user("a@mail.com"),
+                user("taken@mail.com"), user("c@mail.com"))), ADMIN);
+
+        assertThat(response.requested()).isEqualTo(5);
+        assertThat(response.created()).isEqualTo(3);
+        assertThat(response.skippedEmails()).containsExactly("a@mail.com", "taken@mail.com");
+
+        // Batch size 2, request order kept
+        assertThat(batches).extracting(batch -> batch.stream().map(User::getEmail).toList())
+                .containsExactly(
+                        List.of("a@mail.com", "b@mail.com"),
+                        List.of("taken@mail.com", "c@mail.com"));
+        User first = batches.get(0).get(0);
+        assertThat(new BCryptPasswordEncoder().matches("password", first.getPassword())).isTrue();
+    }
+
+    @Test
+    void provision_saturatedEncoder_stopsWith429AfterCommittedBatches() {
+        PasswordEncoder busyAfterTwo = mock(PasswordEncoder.class);
+        when(busyAfterTwo.encode(any())).thenReturn("hash", "hash").thenThrow(new PasswordHashingBusyException());
+        when(userRepository.insertAllIfAbsent(anyList())).thenReturn(Set.of("a@mail.com", "b@mail.com"));
+        UserProvisioningService busy = new UserProvisioningService(
+                userRepository, busyAfterTwo, 1, 2, Set.of("admin@mail.com"));
+
+        assertThatThrownBy(() -> busy.provision(new BulkUserRequest(List.of(
+                user("a@mail.com"), user("b@mail.com"), user("c@mail.com"))), ADMIN))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        verify(userRepository, times(1)).insertAllIfAbsent(anyList());
+    }
+
+    @Test
+    void provision_byNonAdmin_isDenied() {
+        JwtUserPrincipal user = new JwtUserPrincipal(2L, "User", "user@mail.com", 0);
+
+        assertThatThrownBy(() -> service.provision(new BulkUserRequest(List.of(user("a@mail.com"))), user))
+                .isInstanceOf(AccessDeniedException.class);
+        verify(userRepository, never()).insertAllIfAbsent(any());
+    }
+
+    // Helper methods
+    private static RegisterRequest user(String email) {
+        return new RegisterRequest("Name", email, "password");
+    }
+}
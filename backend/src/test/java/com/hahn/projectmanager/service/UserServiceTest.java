@@ -11,10 +11,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Optional;
-
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,22 +35,23 @@ class UserServiceTest {
         RegisterRequest request =
                 new RegisterRequest("John", "john@mail.com", "password");
 
-        when(userRepository.findByEmail("john@mail.com"))
-                .thenReturn(Optional.empty());
-
         when(passwordEncoder.encode("password"))
                 .thenReturn("encoded");
 
+        when(userRepository.insertIfAbsent(any(User.class)))
+                .thenReturn(true);
+
         userService.register(request);
 
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).insertIfAbsent(argThat(user ->
+                user.getEmail().equals("john@mail.com") && user.getPassword().equals("encoded")));
     }
 
     @Test
     void register_duplicateEmail_throwsException() {
 
-        when(userRepository.findByEmail("john@mail.com"))
-                .thenReturn(Optional.of(new User()));
+        when(userRepository.insertIfAbsent(any(User.class)))
+                .thenReturn(false);
 
         RegisterRequest request =
                 new RegisterRequest("John", "john@mail.com", "password");
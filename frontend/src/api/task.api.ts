@@ -23,6 +23,8 @@ export const taskApi = {
     
     if (filters?.search) {
       params.search = filters.search;
+      // Ranked prefix search on title and description
+      params.searchMode = 'FULLTEXT';
     }
 
     const response = await api.get<TasksPageResponse>(